@@ -3,20 +3,53 @@ package de.felixstaude.roguelike.app;
 import de.felixstaude.roguelike.core.Engine;
 import de.felixstaude.roguelike.core.EngineArena;
 import de.felixstaude.roguelike.core.GameCanvas;
+import de.felixstaude.roguelike.core.TickRate;
+import de.felixstaude.roguelike.metrics.MetricsServer;
+import de.felixstaude.roguelike.util.ImageCache;
+import de.felixstaude.roguelike.util.RenderQuality;
+import de.felixstaude.roguelike.world.GameMode;
 
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Frame;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 public class App {
+    private static final String DEFAULT_FRAME_REPORT = "frame-times.txt";
+
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(App::launch);
+        GameMode mode = GameMode.fromArgs(args);
+        TickRate tickRate = TickRate.fromArgs(args);
+        RenderQuality.configureFromArgs(args);
+        ImageCache.configureFromArgs(args);
+        boolean softwareWorld = Arrays.asList(args).contains("--renderer=software");
+        Path frameReport = frameReportFromArgs(args);
+        try {
+            MetricsServer metrics = MetricsServer.startFromArgs(args);
+            if (metrics != null) System.out.println("Metrics on port " + metrics.port() + " (/metrics)");
+        } catch (IOException ex) {
+            System.err.println("Metrics endpoint not started: " + ex.getMessage());
+        }
+        SwingUtilities.invokeLater(() -> launch(mode, tickRate, softwareWorld, frameReport));
+    }
+
+    /** {@code --frame-report=<file>} (default {@value #DEFAULT_FRAME_REPORT}), {@code --frame-report=off} disables it. */
+    private static Path frameReportFromArgs(String[] args) {
+        String value = DEFAULT_FRAME_REPORT;
+        for (String arg : args) {
+            if (arg.startsWith("--frame-report=")) value = arg.substring("--frame-report=".length()).trim();
+        }
+        return value.isEmpty() || value.equalsIgnoreCase("off") ? null : Path.of(value);
     }
 
-    private static void launch() {
+    private static void launch(GameMode mode, TickRate tickRate, boolean softwareWorld, Path frameReport) {
         JFrame frame = new JFrame("Roguelike");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setIgnoreRepaint(true);
@@ -29,7 +62,20 @@ public class App {
         frame.setLocationRelativeTo(null);
 
         FullscreenController fullscreen = new FullscreenController(frame, canvas);
-        Engine engine = new Engine(canvas, fullscreen::toggle);
+        Engine engine = new Engine(canvas, () -> SwingUtilities.invokeLater(fullscreen::toggle), mode, tickRate, new SplittableRandom());
+        engine.setSoftwareWorld(softwareWorld);
+        frame.addWindowStateListener(e -> engine.setMinimized((e.getNewState() & Frame.ICONIFIED) != 0));
+        if (frameReport != null) {
+            // EXIT_ON_CLOSE ends in System.exit, which runs the hook: stop the loop, then dump the waves.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                engine.stop();
+                try {
+                    engine.writeFrameReport(frameReport);
+                } catch (IOException ex) {
+                    System.err.println("Frame report not written: " + ex.getMessage());
+                }
+            }, "FrameReport"));
+        }
 
         frame.setVisible(true);
         fullscreen.enterFullscreen();
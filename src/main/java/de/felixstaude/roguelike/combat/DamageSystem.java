@@ -1,75 +1,115 @@
 package de.felixstaude.roguelike.combat;
 
 import de.felixstaude.roguelike.entity.*;
-
-import java.util.Iterator;
-import java.util.List;
+import de.felixstaude.roguelike.metrics.Metrics;
+import de.felixstaude.roguelike.world.EnemyGrid;
 
 public class DamageSystem {
     private final Player player;
-    private final List<Bullet> bullets;
-    private final List<Enemy> enemies;
-    private final List<Particle> particles;
+    private final Bullets bullets;
+    private final Enemies enemies;
+    private final Particles particles;
+    private final EnemyGrid grid;
+
+    // Kumulierte Kennzahlen (z. B. für DPS-Auswertung in Simulationen)
+    private double damageDealt = 0.0;
+    private long kills = 0;
 
-    public DamageSystem(Player player, List<Bullet> bullets, List<Enemy> enemies, List<Particle> particles) {
+    public DamageSystem(Player player, Bullets bullets, Enemies enemies, Particles particles,
+                        EnemyGrid grid) {
         this.player = player;
         this.bullets = bullets;
         this.enemies = enemies;
         this.particles = particles;
+        this.grid = grid;
     }
 
     public void update(double dt) {
-        // Bullet -> Enemy
-        for (Bullet b : bullets) {
-            if (b.dead) continue;
-            for (Enemy e : enemies) {
-                if (e.dead) continue;
-                double r = e.radius + b.radius;
-                double dx = e.pos.x - b.pos.x, dy = e.pos.y - b.pos.y;
-                if (dx*dx + dy*dy <= r*r) {
-                    e.damage(b.damage);
-                    // Lifesteal direkt beim Hit
-                    if (player.lifesteal > 0) player.heal(b.damage * player.lifesteal);
+        // Bullet -> Enemy: Kreis-gegen-Kreis entlang der Tick-Bewegung (prev -> pos), kein Tunneln.
+        // Getroffen wird in Reihenfolge der Trefferzeit; Pierce-Kugeln können mehrere Gegner pro Tick treffen,
+        // denselben aber nie zweimal – auch nicht in späteren Ticks, solange sie noch in ihm steckt.
+        for (int b = 0, n = bullets.size(); b < n; b++) {
+            if (bullets.isDead(b)) continue;
+            double x0 = bullets.prevX(b), y0 = bullets.prevY(b);
+            double x1 = bullets.x(b), y1 = bullets.y(b);
+            double mx = x1 - x0, my = y1 - y0;
+            int radius = bullets.radius(b);
+            double damage = bullets.damage(b);
+            int candidates = grid.query(
+                    Math.min(x0, x1) - radius, Math.min(y0, y1) - radius,
+                    Math.max(x0, x1) + radius, Math.max(y0, y1) + radius);
+            while (true) {
+                int target = -1;
+                double bestT = Double.MAX_VALUE;
+                for (int c = 0; c < candidates; c++) {
+                    int e = grid.result(c);
+                    if (enemies.isDead(e) || bullets.hasHit(b, enemies.id(e))) continue;
+                    double t = sweep(x0, y0, mx, my, enemies.x(e), enemies.y(e), enemies.radius(e) + radius);
+                    if (t < bestT) { bestT = t; target = e; }
+                }
+                if (target < 0) break;
+                bullets.rememberHit(b, enemies.id(target));
+
+                double hx = x0 + mx * bestT, hy = y0 + my * bestT;
+                enemies.damage(target, damage);
+                damageDealt += damage;
+                Metrics.HITS.inc();
+                // Lifesteal direkt beim Hit
+                if (player.lifesteal > 0) player.heal(damage * player.lifesteal);
 
-                    for (int i=0;i<6;i++) particles.add(Particle.hit(b.pos.x, b.pos.y));
-                    if (e.dead) {
-                        player.addXp(2);
-                        player.addGold(1);
-                        spawnDeath(e);
-                    }
-                    // Pierce-Logik
-                    if (b.pierce > 0) {
-                        b.pierce--;
-                    } else {
-                        b.dead = true;
-                    }
-                    break; // pro Frame nur ein Treffer pro Kugel
+                for (int i=0;i<6;i++) particles.hit(hx, hy);
+                if (enemies.isDead(target)) {
+                    kills++;
+                    Metrics.KILLS.inc();
+                    player.addXp(2);
+                    player.addGold(1);
+                    spawnDeath(target);
                 }
+                // Pierce-Logik
+                if (!bullets.pierceOrStop(b, hx, hy)) break;
             }
         }
 
-        // Enemy touch -> Player (mit Cooldown)
-        for (Enemy e : enemies) {
-            e.touchCooldown -= dt;
-            if (e.dead || e.touchCooldown > 0) continue;
-            double r = e.radius + player.radius;
-            double dx = player.pos.x - e.pos.x, dy = player.pos.y - e.pos.y;
+        // Enemy touch -> Player (mit Cooldown), nur Gegner mit Berührungs-Komponente
+        for (int e = 0, n = enemies.size(); e < n; e++) {
+            if (!enemies.touchReady(e, dt)) continue;
+            double r = enemies.radius(e) + player.radius;
+            double dx = player.pos.x - enemies.x(e), dy = player.pos.y - enemies.y(e);
             if (dx*dx + dy*dy <= r*r) {
-                player.damage(e.contactDamage);
-                e.touchCooldown = e.touchCooldownMax;
-                for (int i=0;i<5;i++) particles.add(Particle.hit(player.pos.x, player.pos.y));
+                player.damage(enemies.contactDamage(e));
+                Metrics.PLAYER_HITS.inc();
+                enemies.restartTouchCooldown(e, dt);
+                for (int i=0;i<5;i++) particles.hit(player.pos.x, player.pos.y);
             }
         }
 
-        // Tote Enemies entfernen
-        for (Iterator<Enemy> it = enemies.iterator(); it.hasNext();) {
-            if (it.next().dead) it.remove();
-        }
+        // Tote Enemies/Bullets entfernt die Engine gesammelt am Tick-Ende
+    }
+
+    /**
+     * Frühester Zeitpunkt t in [0,1], zu dem der Punkt (x0,y0)+t*(mx,my) den Kreis um (cx,cy)
+     * mit Radius r berührt; {@link Double#MAX_VALUE} wenn nicht. Start im Kreis zählt als t=0.
+     */
+    static double sweep(double x0, double y0, double mx, double my, double cx, double cy, double r) {
+        double fx = x0 - cx, fy = y0 - cy;
+        double c = fx * fx + fy * fy - r * r;
+        if (c <= 0) return 0.0;
+        double a = mx * mx + my * my;
+        if (a < 1e-12) return Double.MAX_VALUE;
+        double b = 2 * (fx * mx + fy * my);
+        if (b >= 0) return Double.MAX_VALUE; // entfernt sich
+        double disc = b * b - 4 * a * c;
+        if (disc < 0) return Double.MAX_VALUE;
+        double t = (-b - Math.sqrt(disc)) / (2 * a);
+        return t <= 1.0 ? t : Double.MAX_VALUE;
     }
 
-    private void spawnDeath(Enemy e) {
+    public double getDamageDealt() { return damageDealt; }
+    public long getKills() { return kills; }
+
+    private void spawnDeath(int e) {
         for (int i=0;i<12;i++) {
-            particles.add(Particle.burst(e.pos.x, e.pos.y, e.color));
+            particles.burst(enemies.x(e), enemies.y(e), enemies.color(e));
         }
     }
 }
@@ -0,0 +1,94 @@
+package de.felixstaude.roguelike.core;
+
+import de.felixstaude.roguelike.entity.Particles;
+
+import java.util.Locale;
+
+/**
+ * Scales cosmetic effects down when frames exceed their time budget and back up when there is headroom.
+ * Fed with measured tick and render times; a frame's cost is its render time plus the ticks run before it.
+ * Uses an exponential moving average and asymmetric hysteresis: step down quickly, recover slowly.
+ */
+public final class BudgetGovernor {
+    /** Spawn scale and live-particle cap per level; level 0 is full quality. */
+    private static final double[] SPAWN_SCALE = {1.0, 0.5, 0.25, 0.0};
+    private static final int[] PARTICLE_CAP = {6000, 2000, 700, 150};
+    private static final String[] LABELS = {"full", "reduced", "low", "minimal"};
+
+    private static final double SMOOTHING = 0.1;
+    private static final double OVER_SECONDS = 0.5;
+    private static final double UNDER_SECONDS = 3.0;
+    private static final double HEADROOM = 0.7;
+
+    private final double budgetNanos;
+    private final Particles particles;
+
+    private int level = 0;
+    private double avgFrameNanos = 0.0;
+    private long pendingTickNanos = 0;
+    private double overFor = 0.0;
+    private double underFor = 0.0;
+
+    /** @param targetFps frames per second the budget is derived from, normally the configured tick rate */
+    public BudgetGovernor(double targetFps, Particles particles) {
+        this.budgetNanos = 1_000_000_000.0 / targetFps;
+        this.particles = particles;
+        apply();
+    }
+
+    public void recordTick(long nanos) {
+        pendingTickNanos += nanos;
+    }
+
+    /** Drops the tick time collected since the last frame without judging it (throttled frames). */
+    public void discardFrame() {
+        pendingTickNanos = 0;
+    }
+
+    /**
+     * @param renderNanos  time spent in this frame's render
+     * @param frameSeconds wall time since the previous frame, used to time the hysteresis
+     */
+    public void recordFrame(long renderNanos, double frameSeconds) {
+        double cost = renderNanos + pendingTickNanos;
+        pendingTickNanos = 0;
+        avgFrameNanos = avgFrameNanos == 0.0 ? cost : avgFrameNanos + (cost - avgFrameNanos) * SMOOTHING;
+
+        if (avgFrameNanos > budgetNanos) {
+            overFor += frameSeconds;
+            underFor = 0.0;
+            if (overFor >= OVER_SECONDS && level < SPAWN_SCALE.length - 1) {
+                level++;
+                overFor = 0.0;
+                apply();
+            }
+        } else if (avgFrameNanos < budgetNanos * HEADROOM) {
+            underFor += frameSeconds;
+            overFor = 0.0;
+            if (underFor >= UNDER_SECONDS && level > 0) {
+                level--;
+                underFor = 0.0;
+                apply();
+            }
+        } else {
+            overFor = 0.0;
+            underFor = 0.0;
+        }
+    }
+
+    private void apply() {
+        particles.setBudget(SPAWN_SCALE[level], PARTICLE_CAP[level]);
+    }
+
+    public double getAverageFrameNanos() {
+        return avgFrameNanos;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public String describe() {
+        return String.format(Locale.ROOT, "%s (%.1f ms)", LABELS[level], avgFrameNanos / 1_000_000.0);
+    }
+}
@@ -1,102 +1,268 @@
 package de.felixstaude.roguelike.core;
 
 import de.felixstaude.roguelike.combat.DamageSystem;
-import de.felixstaude.roguelike.entity.Bullet;
-import de.felixstaude.roguelike.entity.Enemy;
-import de.felixstaude.roguelike.entity.Particle;
+import de.felixstaude.roguelike.entity.Bullets;
+import de.felixstaude.roguelike.entity.Enemies;
+import de.felixstaude.roguelike.entity.Particles;
 import de.felixstaude.roguelike.entity.Player;
 import de.felixstaude.roguelike.input.Input;
+import de.felixstaude.roguelike.input.InputQueue;
 import de.felixstaude.roguelike.math.Vec2;
+import de.felixstaude.roguelike.metrics.AllocationTracker;
+import de.felixstaude.roguelike.metrics.AllocationTracker.Section;
+import de.felixstaude.roguelike.metrics.Metrics;
+import de.felixstaude.roguelike.render.SoftwareWorldRenderer;
 import de.felixstaude.roguelike.shop.Shop;
+import de.felixstaude.roguelike.ui.AllocationOverlay;
 import de.felixstaude.roguelike.ui.HUD;
 import de.felixstaude.roguelike.util.Colors;
 import de.felixstaude.roguelike.util.Draw;
+import de.felixstaude.roguelike.util.ImageCache;
+import de.felixstaude.roguelike.util.RenderQuality;
 import de.felixstaude.roguelike.world.Arena;
+import de.felixstaude.roguelike.world.EnemyGrid;
 import de.felixstaude.roguelike.world.EnemySpawner;
+import de.felixstaude.roguelike.world.FlowField;
+import de.felixstaude.roguelike.world.GameMode;
 import de.felixstaude.roguelike.world.WaveManager;
 
 import java.awt.BasicStroke;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
 import java.awt.event.KeyEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
-import java.util.ArrayList;
-import java.util.List;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Coordinates the high level game states and delegates tick/render work to the underlying systems.
  */
 public class Engine implements GameLoop.Handler {
-    public static final int TARGET_UPS = 60;
 
-    private final GameCanvas canvas;
+    /** Wird nach {@code input.poll(...)} jedes Ticks aufgerufen und darf das Input wie ein Spieler steuern. */
+    public interface Controller {
+        void control(Engine engine, Input input);
+    }
+
+    private final GameCanvas canvas; // null = headless
     private final GameLoop loop;
     private final Input input = new Input();
+    private final InputQueue inputQueue = new InputQueue(1024);
     private final EngineArena arenaViewport = new EngineArena();
     private final Runnable toggleFullscreen;
+    private final TickRate tickRate;
 
     private final Player player = new Player();
     private final Arena worldBounds = new Arena(0, 0, EngineArena.ARENA_W, EngineArena.ARENA_H);
 
-    private final List<Bullet> bullets = new ArrayList<>();
-    private final List<Particle> particles = new ArrayList<>();
-    private final List<Enemy> enemies = new ArrayList<>();
-    private final EnemySpawner spawner = new EnemySpawner(worldBounds);
-    private final DamageSystem damageSystem = new DamageSystem(player, bullets, enemies, particles);
+    private final Bullets bullets = new Bullets();
+    private final Particles particles = new Particles();
+    private final BudgetGovernor budget;
+    private final RenderQuality renderQuality = new RenderQuality();
+    private final QualityController quality;
+    private final Enemies enemies = new Enemies();
+    // Per-tick scratch objects, kept so that steady-state ticks do not allocate
+    private final Point2D.Double mouseWorld = new Point2D.Double();
+    private final Vec2 move = new Vec2();
+    private final FlowField flowField = new FlowField(worldBounds);
+    private final EnemyGrid enemyGrid = new EnemyGrid(worldBounds);
+    private final EnemySpawner spawner;
+    private final DamageSystem damageSystem = new DamageSystem(player, bullets, enemies, particles, enemyGrid);
     private final WaveManager waves = new WaveManager(30.0);
     private final Shop shop = new Shop();
+    private final AllocationTracker allocations = new AllocationTracker();
+    private final FrameStats frameStats = new FrameStats();
+    private final AllocationOverlay allocationOverlay = new AllocationOverlay();
 
     private GameState state = GameState.RUNNING;
     private boolean showDebug = true;
+    private boolean softwareWorld = false;
+    private final SoftwareWorldRenderer softwareRenderer = new SoftwareWorldRenderer();
 
     private int lastCanvasW = -1;
     private int lastCanvasH = -1;
+
+    // Render throttling (see GameLoop.Handler)
+    private static final long UNFOCUSED_FRAME_NANOS = 1_000_000_000L / 10;
+    private static final long MINIMIZED_FRAME_NANOS = 1_000_000_000L;
+    private volatile boolean focused = true;
+    private volatile boolean minimized = false;
+    private boolean redrawRequested = true;
+    private int inputEvents = 0;
+    private long seenDecodes = 0;
+    private BufferedImage shopBackdrop;
+    private boolean shopBackdropValid = false;
+    private boolean shopBackdropSoftware;
+    private RenderQuality.Tier shopBackdropTier;
     private Rectangle restartButton = new Rectangle();
+    private Controller controller;
+    private long lastFrameNanos = 0;
+    private boolean lastFrameCounted = false;
 
     public Engine(GameCanvas canvas, Runnable toggleFullscreen) {
+        this(canvas, toggleFullscreen, GameMode.STANDARD, TickRate.STANDARD, new SplittableRandom());
+    }
+
+    /**
+     * @param random Quelle für alle gameplay-relevanten Zufallswerte (Spawns, Homing-Rolls);
+     *               mit festem Seed sind Runs reproduzierbar. Kosmetische Partikel bleiben außen vor.
+     */
+    public Engine(GameCanvas canvas, Runnable toggleFullscreen, GameMode mode, TickRate tickRate,
+                  RandomGenerator random) {
         this.canvas = canvas;
+        this.tickRate = tickRate;
+        // Frame budget follows the tick rate: every simulated step should reach the screen
+        this.budget = new BudgetGovernor(tickRate.ups, particles);
+        this.quality = new QualityController(tickRate.ups, renderQuality);
+        this.spawner = new EnemySpawner(worldBounds, enemies, mode, random);
         this.toggleFullscreen = toggleFullscreen;
-        this.loop = new GameLoop(canvas, TARGET_UPS, this);
-
-        canvas.addKeyListener(input);
-        canvas.addMouseListener(input);
-        canvas.addMouseMotionListener(input);
-        canvas.setFocusable(true);
-        canvas.requestFocus();
+        this.loop = canvas != null ? new GameLoop(canvas, tickRate.ups, this) : null;
+        player.setRandom(random);
+
+        if (canvas != null) {
+            canvas.addKeyListener(inputQueue);
+            canvas.addMouseListener(inputQueue);
+            canvas.addMouseMotionListener(inputQueue);
+            canvas.setFocusable(true);
+            canvas.addFocusListener(new FocusAdapter() {
+                @Override public void focusGained(FocusEvent e) { focused = true; }
+                @Override public void focusLost(FocusEvent e) { focused = false; }
+            });
+            canvas.requestFocus();
+            shop.preloadIcons();
+        }
 
         input.onKeyPressed = code -> {
             if (code == KeyEvent.VK_F3) {
                 showDebug = !showDebug;
+                allocations.setEnabled(showDebug);
+                allocationOverlay.invalidate();
+            }
+            if (code == KeyEvent.VK_F4) {
+                renderQuality.cycleOverride();
+            }
+            if (code == KeyEvent.VK_F5) {
+                softwareWorld = !softwareWorld;
             }
             if (code == KeyEvent.VK_F11 && toggleFullscreen != null) {
                 toggleFullscreen.run();
             }
         };
 
+        // Headless runs have no overlay; tools enable it through getAllocationTracker().
+        allocations.setEnabled(canvas != null && showDebug);
+
         player.pos.set(worldBounds.w / 2.0, worldBounds.h / 2.0);
-        spawner.onWaveStart(waves.getWave());
+        startWave();
+    }
+
+    /**
+     * Engine ohne Fenster/Loop: Ticks werden über {@link #onUpdate(double)} von außen getrieben,
+     * Canvas-Koordinaten entsprechen 1:1 den Welt-Koordinaten.
+     */
+    public static Engine headless(Controller controller) {
+        return headless(controller, GameMode.STANDARD);
+    }
+
+    public static Engine headless(Controller controller, GameMode mode) {
+        return headless(controller, mode, TickRate.STANDARD, new SplittableRandom());
+    }
+
+    public static Engine headless(Controller controller, GameMode mode, TickRate tickRate, RandomGenerator random) {
+        Engine engine = new Engine(null, null, mode, tickRate, random);
+        engine.controller = controller;
+        return engine;
     }
 
     public void start() {
-        loop.start();
+        if (loop != null) loop.start();
     }
 
     public void stop() {
-        loop.stop();
+        if (loop != null) loop.stop();
+        softwareRenderer.close(); // after the loop has joined, so no frame is mid-raster
+    }
+
+    /** Writes the per-wave frame-time report; call after {@link #stop()} so the loop no longer records. */
+    public void writeFrameReport(Path file) throws IOException {
+        frameStats.writeReport(file);
     }
 
     @Override
     public void onUpdate(double dt) {
+        long start = System.nanoTime();
+        GameState before = state;
+        int w = lastCanvasW;
+        int h = lastCanvasH;
+        if (state == GameState.RUNNING && waves.getWave() != frameStats.wave()) frameStats.beginWave(waves.getWave());
+        allocations.beginTick();
+        update(dt);
+        allocations.endTick();
+        long tickNanos = System.nanoTime() - start;
+        budget.recordTick(tickNanos);
+        if (before == GameState.RUNNING) frameStats.recordTick(tickNanos);
+        Metrics.TICKS.inc();
+        Metrics.TICK_TIME.record(tickNanos);
+        if (canvas != null) {
+            // Gauges beschreiben das eine Fenster-Spiel; parallele Headless-Engines würden sich überschreiben
+            Metrics.WAVE.set(waves.getWave());
+            Metrics.ENEMIES.set(enemies.size());
+            Metrics.BULLETS.set(bullets.size());
+            Metrics.PARTICLES.set(particles.size());
+        }
+
+        long decodes = ImageCache.completedDecodes();
+        if (inputEvents > 0 || state != before || w != lastCanvasW || h != lastCanvasH || decodes != seenDecodes) {
+            redrawRequested = true;
+        }
+        seenDecodes = decodes;
+    }
+
+    /** Static screens (shop, game over) only redraw after input or state changes. */
+    @Override
+    public boolean redrawNeeded() {
+        if (state == GameState.RUNNING) return true;
+        boolean redraw = redrawRequested;
+        redrawRequested = false;
+        return redraw;
+    }
+
+    /** Frame cap for an unfocused or minimised window; the simulation keeps its tick rate. */
+    @Override
+    public long minFrameNanos() {
+        if (minimized) return MINIMIZED_FRAME_NANOS;
+        if (!focused) return UNFOCUSED_FRAME_NANOS;
+        return 0L;
+    }
+
+    /** Reported by the window (iconified/deiconified). */
+    public void setMinimized(boolean minimized) {
+        this.minimized = minimized;
+    }
+
+    /** Throttled frames are sparse by design and must not drive the governor or the quality tier. */
+    private boolean throttled() {
+        return minimized || !focused || state != GameState.RUNNING;
+    }
+
+    private void update(double dt) {
         ensureCanvasSize();
-        input.poll();
+        inputEvents = input.poll(inputQueue);
+        if (controller != null) controller.control(this, input);
 
-        Point2D.Double mouseWorld = arenaViewport.toWorld(input.mouseX, input.mouseY);
+        arenaViewport.toWorld(input.mouseX, input.mouseY, mouseWorld);
         input.setMouseWorld(mouseWorld.x, mouseWorld.y);
+        allocations.mark(Section.INPUT);
 
         if (state == GameState.GAME_OVER) {
             if (input.wasPressed(KeyEvent.VK_R) ||
-                    (input.mousePressedL && restartButton.contains(input.mouseX, input.mouseY))) {
+                    (input.mouseClickedL && restartButton.contains(input.mouseX, input.mouseY))) {
                 restartGame();
             }
             return;
@@ -107,9 +273,10 @@ public class Engine implements GameLoop.Handler {
             boolean startNext = shop.handleInput(input, player);
             if (startNext) {
                 waves.nextWave();
-                spawner.onWaveStart(waves.getWave());
+                startWave();
                 state = GameState.RUNNING;
             }
+            allocations.mark(Section.SHOP);
             return;
         }
 
@@ -123,31 +290,33 @@ public class Engine implements GameLoop.Handler {
         if (input.isDown(KeyEvent.VK_S)) ay += 1;
         if (input.isDown(KeyEvent.VK_A)) ax -= 1;
         if (input.isDown(KeyEvent.VK_D)) ax += 1;
-        Vec2 move = new Vec2(ax, ay).normalized();
+        move.setNormalized(ax, ay);
 
         player.update(dt, move, input.mouseWorldX, input.mouseWorldY, bullets, particles);
         arenaViewport.clampWorld(player.pos, player.radius);
+        allocations.mark(Section.PLAYER);
 
         waves.update(dt);
-        spawner.update(dt, enemies, player);
-
-        for (Enemy enemy : enemies) {
-            enemy.update(dt, player, bullets);
-            arenaViewport.clampWorld(enemy.pos, enemy.radius);
-        }
-
-        for (int i = bullets.size() - 1; i >= 0; i--) {
-            Bullet b = bullets.get(i);
-            b.update(dt, enemies);
-            if (b.dead) bullets.remove(i);
-        }
-        for (int i = particles.size() - 1; i >= 0; i--) {
-            Particle p = particles.get(i);
-            p.update(dt);
-            if (p.dead) particles.remove(i);
-        }
+        spawner.update(dt, player);
+        allocations.mark(Section.WAVES);
+
+        flowField.update(dt, player.pos.x, player.pos.y);
+        allocations.mark(Section.FLOW_FIELD);
+        enemyGrid.rebuild(enemies);
+        enemies.computeDodges(bullets, enemyGrid);
+        enemies.update(dt, flowField, worldBounds);
+        allocations.mark(Section.ENEMIES);
+
+        enemyGrid.rebuild(enemies);
+        bullets.update(dt, enemies, enemyGrid);
+        allocations.mark(Section.BULLETS);
+        particles.update(dt);
+        allocations.mark(Section.PARTICLES);
 
         damageSystem.update(dt);
+        allocations.mark(Section.DAMAGE);
+        removeDead();
+        allocations.mark(Section.CLEANUP);
 
         if (player.isDead()) {
             state = GameState.GAME_OVER;
@@ -157,8 +326,10 @@ public class Engine implements GameLoop.Handler {
         if (waves.isFinished()) {
             bullets.clear();
             enemies.clear();
+            enemyGrid.clear();
             particles.clear();
             shop.prepareForWave(waves.getWave(), player);
+            shopBackdropValid = false;
             state = GameState.SHOP;
         }
 
@@ -166,21 +337,107 @@ public class Engine implements GameLoop.Handler {
         if (input.wasPressed(KeyEvent.VK_L)) player.heal(8);
     }
 
+    /** Einmal pro Tick nach allen Systemen: tote Entities in einem linearen Durchlauf entfernen. */
+    private void removeDead() {
+        bullets.compact();
+        enemies.compact();
+    }
+
     @Override
     public void onRender(Graphics2D g) {
+        long start = System.nanoTime();
+        allocations.beginFrame();
+        render(g);
+        allocations.endFrame();
+        long end = System.nanoTime();
+        Metrics.FRAME_TIME.record(end - start);
+        double frameSeconds = lastFrameNanos == 0 ? 0.0 : (end - lastFrameNanos) / 1_000_000_000.0;
+        if (throttled()) {
+            // Many ticks per frame would read as overload
+            budget.discardFrame();
+            lastFrameCounted = false;
+        } else {
+            budget.recordFrame(end - start, frameSeconds);
+            quality.update(budget.getAverageFrameNanos(), frameSeconds);
+            frameStats.recordRender(end - start);
+            // The first frame after a throttled stretch has no meaningful interval
+            if (lastFrameCounted) frameStats.recordFrame(end - lastFrameNanos);
+            lastFrameCounted = true;
+        }
+        lastFrameNanos = end;
+    }
+
+    private void render(Graphics2D g) {
         ensureCanvasSize();
+        Rectangle view = arenaViewport.getViewportRect();
+
+        if (state == GameState.SHOP) {
+            // The world is frozen while shopping: reuse one captured frame of world + HUD + dimmer.
+            g.drawImage(shopBackdrop(), 0, 0, null);
+        } else {
+            renderScene(g);
+        }
+
+        if (showDebug) {
+            Rectangle panel = HUD.drawDebug(g, view, loop.getFps(), loop.getUps(),
+                    enemies.size(), bullets.size(), particles.size(), budget.describe(),
+                    renderQuality, softwareWorld ? "software" : "java2d", player);
+            if (allocations.isEnabled()) panel = allocationOverlay.draw(g, panel, allocations);
+            HUD.drawFrameTimes(g, panel, frameStats);
+        }
+
+        if (state == GameState.GAME_OVER) {
+            HUD.drawGameOverOverlay(g, canvas.getWidth(), canvas.getHeight(), restartButton, renderQuality);
+        } else if (state == GameState.SHOP) {
+            shop.render(g, player, waves.getWave(), renderQuality);
+        } else {
+            HUD.drawCrosshair(g, input.mouseCanvasX, input.mouseCanvasY);
+        }
+    }
 
+    /** Captured shop background; redrawn when entering the shop, on resize or a renderer/quality change. */
+    private BufferedImage shopBackdrop() {
+        int w = lastCanvasW;
+        int h = lastCanvasH;
+        if (shopBackdrop == null || shopBackdrop.getWidth() != w || shopBackdrop.getHeight() != h) {
+            shopBackdrop = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            shopBackdropValid = false;
+        }
+        if (!shopBackdropValid || shopBackdropSoftware != softwareWorld
+                || shopBackdropTier != renderQuality.current()) {
+            Graphics2D bg = shopBackdrop.createGraphics();
+            try {
+                renderScene(bg);
+                Shop.drawDimmer(bg, w, h);
+            } finally {
+                bg.dispose();
+            }
+            shopBackdropValid = true;
+            shopBackdropSoftware = softwareWorld;
+            shopBackdropTier = renderQuality.current();
+        }
+        return shopBackdrop;
+    }
+
+    /** Backdrop, world layer, banner and bars. */
+    private void renderScene(Graphics2D g) {
         g.setColor(Colors.BACKDROP);
         g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-        Draw.applyQualityHints(g);
-
-        arenaViewport.renderBackground(g);
-        AffineTransform old = g.getTransform();
-        arenaViewport.applyWorldTransform(g);
-        drawWorld(g);
-        g.setTransform(old);
+        Draw.applyQualityHints(g, renderQuality);
 
         Rectangle view = arenaViewport.getViewportRect();
+        if (softwareWorld) {
+            softwareRenderer.render(g, view, arenaViewport.getScale(), enemies, particles, bullets, player,
+                    renderQuality);
+            arenaViewport.renderBorder(g);
+        } else {
+            arenaViewport.renderBackground(g);
+            AffineTransform old = g.getTransform();
+            arenaViewport.applyWorldTransform(g);
+            drawWorld(g);
+            g.setTransform(old);
+        }
+
         if (state == GameState.RUNNING) {
             String title = String.format("Wave %d — %02d:%02d", waves.getWave(),
                     (int) (waves.getTimeLeft() / 60), (int) (waves.getTimeLeft() % 60));
@@ -190,17 +447,6 @@ public class Engine implements GameLoop.Handler {
         }
 
         HUD.drawBars(g, player, view);
-        if (showDebug) {
-            HUD.drawDebug(g, view, loop.getFps(), loop.getUps(), bullets.size(), particles.size(), player);
-        }
-
-        if (state == GameState.GAME_OVER) {
-            HUD.drawGameOverOverlay(g, canvas.getWidth(), canvas.getHeight(), restartButton);
-        } else if (state == GameState.SHOP) {
-            shop.render(g, player, waves.getWave());
-        } else {
-            HUD.drawCrosshair(g, input.mouseCanvasX, input.mouseCanvasY);
-        }
     }
 
     private void drawWorld(Graphics2D g) {
@@ -214,15 +460,15 @@ public class Engine implements GameLoop.Handler {
             g.drawLine(0, y, EngineArena.ARENA_W, y);
         }
 
-        for (Enemy enemy : enemies) enemy.render(g);
-        for (Particle particle : particles) particle.render(g);
-        for (Bullet bullet : bullets) bullet.render(g);
-        player.render(g);
+        enemies.render(g, renderQuality);
+        particles.render(g);
+        bullets.render(g);
+        player.render(g, renderQuality);
     }
 
     private void ensureCanvasSize() {
-        int w = Math.max(1, canvas.getWidth());
-        int h = Math.max(1, canvas.getHeight());
+        int w = canvas != null ? Math.max(1, canvas.getWidth()) : EngineArena.ARENA_W;
+        int h = canvas != null ? Math.max(1, canvas.getHeight()) : EngineArena.ARENA_H;
         if (w == lastCanvasW && h == lastCanvasH) {
             return;
         }
@@ -238,10 +484,57 @@ public class Engine implements GameLoop.Handler {
         restartButton = new Rectangle(bx, by, bw, bh);
     }
 
+    public GameState getState() { return state; }
+    public int getWave() { return waves.getWave(); }
+    public double getWaveTimeLeft() { return waves.getTimeLeft(); }
+    public Player getPlayer() { return player; }
+    /** Gegner-Speicher; für Bots und Auswertungen nur lesend gedacht. */
+    public Enemies getEnemies() { return enemies; }
+    public int getBulletCount() { return bullets.size(); }
+    public Shop getShop() { return shop; }
+    public DamageSystem getDamageSystem() { return damageSystem; }
+    public GameMode getMode() { return spawner.getMode(); }
+    public TickRate getTickRate() { return tickRate; }
+    public EnemySpawner getSpawner() { return spawner; }
+    public AllocationTracker getAllocationTracker() { return allocations; }
+    public FrameStats getFrameStats() { return frameStats; }
+    public BudgetGovernor getBudget() { return budget; }
+
+    /** Weltebene über den Software-Rasterizer statt Java2D zeichnen (umschaltbar mit F5). */
+    public void setSoftwareWorld(boolean enabled) { softwareWorld = enabled; }
+
+    /**
+     * Configures the spawner for the current wave and sizes every per-wave store up front: the spawner
+     * reserves the enemy store for the wave cap, the grid follows it, and the bullet store gets what the
+     * player's current build can keep in flight. Stats only change in the shop, so nothing has to grow
+     * until the next wave starts.
+     */
+    private void startWave() {
+        spawner.onWaveStart(waves.getWave());
+        enemyGrid.ensureCapacity(spawner.getMaxEnemies());
+        bullets.ensureCapacity(player.maxLiveBullets());
+    }
+
+    /**
+     * Headless tools: clears the arena and starts {@code wave} directly, as if the shop had just been
+     * left. Player stats and items stay as they are.
+     */
+    public void jumpToWave(int wave) {
+        bullets.clear();
+        particles.clear();
+        enemies.clear();
+        enemyGrid.clear();
+        waves.startAt(wave);
+        startWave();
+        frameStats.beginWave(waves.getWave());
+        state = GameState.RUNNING;
+    }
+
     private void restartGame() {
         bullets.clear();
         particles.clear();
         enemies.clear();
+        enemyGrid.clear();
         spawner.reset();
         waves.reset();
 
@@ -250,7 +543,8 @@ public class Engine implements GameLoop.Handler {
         player.gold = 0;
         player.pos.set(worldBounds.w / 2.0, worldBounds.h / 2.0);
 
-        spawner.onWaveStart(waves.getWave());
+        startWave();
+        frameStats.beginWave(waves.getWave());
         state = GameState.RUNNING;
     }
 }
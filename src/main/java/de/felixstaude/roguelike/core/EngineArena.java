@@ -45,11 +45,16 @@ public final class EngineArena {
     }
 
     public Point2D.Double toWorld(double screenX, double screenY) {
+        return toWorld(screenX, screenY, new Point2D.Double());
+    }
+
+    /** Allocation-free variant for per-tick use; writes into and returns {@code out}. */
+    public Point2D.Double toWorld(double screenX, double screenY, Point2D.Double out) {
         double x = (screenX - viewport.x) / scale;
         double y = (screenY - viewport.y) / scale;
-        x = Mathx.clamp(x, 0.0, ARENA_W);
-        y = Mathx.clamp(y, 0.0, ARENA_H);
-        return new Point2D.Double(x, y);
+        out.x = Mathx.clamp(x, 0.0, ARENA_W);
+        out.y = Mathx.clamp(y, 0.0, ARENA_H);
+        return out;
     }
 
     public Point2D.Double toScreen(double worldX, double worldY) {
@@ -78,6 +83,10 @@ public final class EngineArena {
     public void renderBackground(Graphics2D g) {
         g.setColor(Colors.FLOOR);
         g.fillRect(viewport.x, viewport.y, viewport.width, viewport.height);
+        renderBorder(g);
+    }
+
+    public void renderBorder(Graphics2D g) {
         g.setColor(Colors.FLOOR_BORDER);
         g.setStroke(new BasicStroke(3f));
         g.drawRect(viewport.x, viewport.y, viewport.width - 1, viewport.height - 1);
@@ -0,0 +1,125 @@
+package de.felixstaude.roguelike.core;
+
+import de.felixstaude.roguelike.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tick, render and frame-interval histograms for the wave being played, plus the finished waves of the
+ * session. Only gameplay is recorded: the shop and game-over screens are event-driven and would only
+ * dilute the numbers. Owned by the loop thread; {@link #writeReport} runs after the loop has stopped.
+ */
+public final class FrameStats {
+    /** Percentiles shown in the overlay and the report. */
+    public static final double[] PERCENTILES = {50.0, 99.0, 99.9};
+    /** Frame intervals kept for the sparkline. */
+    public static final int HISTORY = 120;
+
+    /** Histograms of one finished (or the current) wave. */
+    public record Wave(int wave, LatencyHistogram tick, LatencyHistogram render, LatencyHistogram frame) {
+    }
+
+    private final List<Wave> finished = new ArrayList<>();
+    private final LatencyHistogram tick = new LatencyHistogram();
+    private final LatencyHistogram render = new LatencyHistogram();
+    private final LatencyHistogram frame = new LatencyHistogram();
+    private int wave = 0;
+
+    private final long[] recent = new long[HISTORY];
+    private int head;
+    private int recentCount;
+
+    /** Closes the current wave (if anything was recorded) and starts collecting for {@code wave}. */
+    public void beginWave(int wave) {
+        if (tick.count() > 0 || frame.count() > 0) {
+            finished.add(new Wave(this.wave, tick.copy(), render.copy(), frame.copy()));
+        }
+        tick.reset();
+        render.reset();
+        frame.reset();
+        this.wave = wave;
+    }
+
+    public int wave() {
+        return wave;
+    }
+
+    public void recordTick(long nanos) {
+        tick.record(nanos);
+    }
+
+    public void recordRender(long nanos) {
+        render.record(nanos);
+    }
+
+    /** Time between two consecutive presented frames. */
+    public void recordFrame(long intervalNanos) {
+        frame.record(intervalNanos);
+        recent[head] = intervalNanos;
+        head = (head + 1) % HISTORY;
+        if (recentCount < HISTORY) recentCount++;
+    }
+
+    public LatencyHistogram tick() {
+        return tick;
+    }
+
+    public LatencyHistogram render() {
+        return render;
+    }
+
+    public LatencyHistogram frame() {
+        return frame;
+    }
+
+    public int recentCount() {
+        return recentCount;
+    }
+
+    /** i-th frame interval of the sparkline, 0 = oldest. */
+    public long recentNanos(int i) {
+        return recent[(head - recentCount + i + HISTORY) % HISTORY];
+    }
+
+    /** {@code p50 / p99 / p99.9 / max} in milliseconds. */
+    public static String summary(LatencyHistogram h) {
+        if (h.count() == 0) return "-";
+        StringBuilder sb = new StringBuilder();
+        for (double p : PERCENTILES) {
+            sb.append(String.format(Locale.ROOT, "%.1f / ", h.percentileNanos(p) / 1e6));
+        }
+        return sb.append(String.format(Locale.ROOT, "%.1f", h.maxNanos() / 1e6)).toString();
+    }
+
+    /** Writes one row per wave and kind (tick, render, frame) with count, percentiles, max and mean in ms. */
+    public void writeReport(Path file) throws IOException {
+        List<Wave> waves = new ArrayList<>(finished);
+        if (tick.count() > 0 || frame.count() > 0) waves.add(new Wave(wave, tick, render, frame));
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("# Frame times per wave in ms, written "
+                    + LocalDateTime.now().withNano(0).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            out.printf(Locale.ROOT, "%4s %-6s %8s %8s %8s %8s %8s %8s%n",
+                    "wave", "kind", "count", "p50", "p99", "p99.9", "max", "mean");
+            for (Wave w : waves) {
+                row(out, w.wave, "tick", w.tick);
+                row(out, w.wave, "render", w.render);
+                row(out, w.wave, "frame", w.frame);
+            }
+        }
+    }
+
+    private static void row(PrintWriter out, int wave, String kind, LatencyHistogram h) {
+        out.printf(Locale.ROOT, "%4d %-6s %8d %8.2f %8.2f %8.2f %8.2f %8.2f%n", wave, kind, h.count(),
+                h.percentileNanos(PERCENTILES[0]) / 1e6, h.percentileNanos(PERCENTILES[1]) / 1e6,
+                h.percentileNanos(PERCENTILES[2]) / 1e6, h.maxNanos() / 1e6, h.meanNanos() / 1e6);
+    }
+}
@@ -1,5 +1,40 @@
 package de.felixstaude.roguelike.core;
 
 import java.awt.Canvas;
+import java.awt.Graphics;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class GameCanvas extends Canvas { }
+/**
+ * Render target of the game loop. AWT paint requests (expose, resize, show) are not drawn here but only
+ * flagged, so an event-driven loop knows it has to repair the window; see {@link #takeDamage()}.
+ */
+public class GameCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+
+    private final AtomicBoolean damaged = new AtomicBoolean(true);
+
+    public GameCanvas() {
+        addComponentListener(new ComponentAdapter() {
+            @Override public void componentResized(ComponentEvent e) { damaged.set(true); }
+            @Override public void componentShown(ComponentEvent e) { damaged.set(true); }
+        });
+    }
+
+    /** Expose from the window system: the loop redraws with its buffer strategy, no background clear here. */
+    @Override
+    public void paint(Graphics g) {
+        damaged.set(true);
+    }
+
+    @Override
+    public void update(Graphics g) {
+        paint(g);
+    }
+
+    /** Whether the window needs repairing since the last call; clears the flag. */
+    public boolean takeDamage() {
+        return damaged.getAndSet(false);
+    }
+}
@@ -1,17 +1,35 @@
 package de.felixstaude.roguelike.core;
 
+import de.felixstaude.roguelike.metrics.Metrics;
 import de.felixstaude.roguelike.util.Time;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Generic fixed-timestep game loop. Delegates update/render to a handler and exposes FPS/UPS.
+ *
+ * <p>Rendering is continuous by default. A handler can throttle it: {@link Handler#minFrameNanos()} caps
+ * the frame rate, and {@link Handler#redrawNeeded()} makes rendering event-driven. A throttled loop
+ * sleeps until the next update instead of spinning. Besides the handler, only the window asks for frames:
+ * an expose or resize ({@link GameCanvas#takeDamage()}) or lost buffer contents. There is no periodic
+ * keepalive, so a static screen costs no frames at all and a minimised window stays at its cap.
  */
 public final class GameLoop implements Runnable {
     public interface Handler {
         void onUpdate(double dt);
         void onRender(Graphics2D g);
+
+        /** Minimum time between two frames; 0 = no cap. */
+        default long minFrameNanos() {
+            return 0L;
+        }
+
+        /** Whether the next frame would differ from the last one. Queried only when a frame is allowed. */
+        default boolean redrawNeeded() {
+            return true;
+        }
     }
 
     private final GameCanvas canvas;
@@ -66,8 +84,9 @@ public final class GameLoop implements Runnable {
         BufferStrategy strategy = canvas.getBufferStrategy();
 
         long previous = Time.nowNanos();
+        long lastFrame = 0L;
         double accumulator = 0.0;
-        long fpsTimer = Time.nowMillis();
+        long fpsTimer = previous;
         int frames = 0;
         int updates = 0;
 
@@ -83,6 +102,28 @@ public final class GameLoop implements Runnable {
                 updates++;
             }
 
+            if (now - fpsTimer >= 1_000_000_000L) {
+                fps = frames;
+                ups = updates;
+                Metrics.FPS.set(fps);
+                Metrics.UPS.set(ups);
+                frames = 0;
+                updates = 0;
+                fpsTimer += 1_000_000_000L;
+            }
+
+            long sinceFrame = now - lastFrame;
+            // Non-short-circuit: one frame answers the window and the handler, so both flags are consumed
+            boolean due = sinceFrame >= handler.minFrameNanos()
+                    && (canvas.takeDamage() | strategy.contentsLost() | handler.redrawNeeded());
+            if (!due) {
+                // Nothing to draw: sleep until the next update is due instead of spinning.
+                long untilUpdate = (long) ((step - accumulator) * 1_000_000_000.0);
+                LockSupport.parkNanos(Math.max(100_000L, untilUpdate));
+                continue;
+            }
+            lastFrame = now;
+
             do {
                 do {
                     Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
@@ -95,15 +136,7 @@ public final class GameLoop implements Runnable {
                 strategy.show();
             } while (strategy.contentsLost());
             frames++;
-
-            long millis = Time.nowMillis();
-            if (millis - fpsTimer >= 1000) {
-                fps = frames;
-                ups = updates;
-                frames = 0;
-                updates = 0;
-                fpsTimer += 1000;
-            }
+            Metrics.FRAMES.inc();
         }
     }
 }
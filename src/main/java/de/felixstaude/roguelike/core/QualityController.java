@@ -0,0 +1,53 @@
+package de.felixstaude.roguelike.core;
+
+import de.felixstaude.roguelike.util.RenderQuality;
+import de.felixstaude.roguelike.util.RenderQuality.Tier;
+
+/**
+ * Picks the automatic tier of one engine's {@link RenderQuality} from the averaged frame cost:
+ * steps down after sustained overruns, back up after sustained headroom.
+ */
+public final class QualityController {
+    private static final double OVER_SECONDS = 1.0;
+    private static final double UNDER_SECONDS = 5.0;
+    private static final double HEADROOM = 0.6;
+
+    private final double budgetNanos;
+    private final RenderQuality quality;
+    private double overFor = 0.0;
+    private double underFor = 0.0;
+
+    /** @param targetFps frames per second the budget is derived from, normally the configured tick rate */
+    public QualityController(double targetFps, RenderQuality quality) {
+        this.budgetNanos = 1_000_000_000.0 / targetFps;
+        this.quality = quality;
+    }
+
+    public void update(double avgFrameNanos, double frameSeconds) {
+        if (!quality.isAutomatic()) {
+            // Pinned tier: frame cost says nothing about the automatic tier, start fresh on return
+            overFor = 0.0;
+            underFor = 0.0;
+            return;
+        }
+        Tier tier = quality.automatic();
+        if (avgFrameNanos > budgetNanos) {
+            overFor += frameSeconds;
+            underFor = 0.0;
+            if (overFor >= OVER_SECONDS && tier.ordinal() < Tier.values().length - 1) {
+                quality.setAutomatic(Tier.values()[tier.ordinal() + 1]);
+                overFor = 0.0;
+            }
+        } else if (avgFrameNanos < budgetNanos * HEADROOM) {
+            underFor += frameSeconds;
+            overFor = 0.0;
+            if (underFor >= UNDER_SECONDS && tier.ordinal() > 0) {
+                quality.setAutomatic(Tier.values()[tier.ordinal() - 1]);
+                underFor = 0.0;
+            }
+        } else {
+            overFor = 0.0;
+            underFor = 0.0;
+        }
+    }
+}
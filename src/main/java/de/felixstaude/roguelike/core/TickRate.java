@@ -0,0 +1,44 @@
+package de.felixstaude.roguelike.core;
+
+import java.util.Locale;
+
+/**
+ * Simulation tick rate presets, chosen once at startup.
+ * Gameplay is written against {@code dt} so every preset plays the same, only finer or coarser.
+ */
+public enum TickRate {
+    LOW_POWER(30),
+    STANDARD(60),
+    HIGH_REFRESH(120),
+    COMPETITIVE(240);
+
+    public final int ups;
+
+    TickRate(int ups) {
+        this.ups = ups;
+    }
+
+    public double dt() {
+        return 1.0 / ups;
+    }
+
+    /** Parses {@code --ups=30|60|120|240} or {@code --ups=low-power|standard|high-refresh|competitive}. */
+    public static TickRate fromArgs(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--ups=")) {
+                return parse(arg.substring("--ups=".length()));
+            }
+        }
+        return STANDARD;
+    }
+
+    public static TickRate parse(String value) {
+        String v = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (TickRate rate : values()) {
+            if (rate.name().equals(v) || Integer.toString(rate.ups).equals(v)) {
+                return rate;
+            }
+        }
+        throw new IllegalArgumentException("Unknown tick rate: " + value);
+    }
+}
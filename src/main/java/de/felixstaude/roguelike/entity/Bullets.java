@@ -0,0 +1,190 @@
+package de.felixstaude.roguelike.entity;
+
+import de.felixstaude.roguelike.render.Raster;
+import de.felixstaude.roguelike.world.EnemyGrid;
+
+import java.awt.*;
+
+/**
+ * Kugel-Speicher auf dem {@link ComponentStore}: Position, Geschwindigkeit, Lebenszeit, Collider und
+ * Treffer-Werte liegen in parallelen Spalten, Update und Rendering laufen linear darüber.
+ * Eine Kugel ist nur ein Index; er bleibt bis zum nächsten {@link #compact()} gültig.
+ * Homing und Pierce sind Werte pro Kugel statt eigener Klassen.
+ *
+ * <p>Jede Kugel merkt sich die {@link Enemies#id(int) Gegner-Ids} ihrer letzten {@link #HIT_MEMORY} Treffer über
+ * Ticks hinweg: eine Pierce-Kugel, die noch im eben getroffenen Gegner steckt, trifft ihn sonst im nächsten
+ * Tick erneut – und zwar umso öfter, je höher die Tickrate.
+ *
+ * <p>Tote Kugeln werden am Tick-Ende stabil zusammengeschoben (siehe {@link ComponentStore#compact}).
+ */
+public class Bullets extends ComponentStore {
+    private static final Color BODY = new Color(240, 250, 255);
+    private static final Color HOMING_RING = new Color(120, 200, 255, 120);
+    /** Anzahl gemerkter Treffer pro Kugel; ältere können wieder getroffen werden (Ringpuffer). */
+    public static final int HIT_MEMORY = 4;
+
+    private final Doubles prevX, prevY, vx, vy, life, damage;
+    private final Doubles homingStrength, homingRange, spawnDelay;
+    private final Ints radius, pierce;
+    private final Ints hitIds, hits; // hitIds: HIT_MEMORY Einträge pro Kugel, hits: Treffer insgesamt
+    private final Flags homing, dead;
+
+    public Bullets() {
+        this(256);
+    }
+
+    public Bullets(int initialCapacity) {
+        super(initialCapacity);
+        prevX = doubles(); prevY = doubles();
+        vx = doubles(); vy = doubles();
+        life = doubles(); damage = doubles();
+        homingStrength = doubles(); homingRange = doubles(); spawnDelay = doubles();
+        radius = ints(); pierce = ints();
+        hitIds = ints(HIT_MEMORY); hits = ints();
+        homing = flags(); dead = flags();
+    }
+
+    /**
+     * Neue Kugel ohne Homing; liefert ihren Index.
+     *
+     * @param spawnDelay Anteil des ersten Ticks vor dem Abschuss (tickrate-unabhängiges Feuern)
+     */
+    public int add(double px, double py, double velX, double velY, double lifetime, double dmg, int r,
+                   int pierceCount, double spawnDelay) {
+        int i = append();
+        x.data[i] = px; y.data[i] = py;
+        prevX.data[i] = px; prevY.data[i] = py;
+        vx.data[i] = velX; vy.data[i] = velY;
+        life.data[i] = lifetime;
+        damage.data[i] = dmg;
+        radius.data[i] = r;
+        pierce.data[i] = pierceCount;
+        this.spawnDelay.data[i] = spawnDelay;
+        homing.data[i] = false;
+        homingStrength.data[i] = 6.0;
+        homingRange.data[i] = 260.0;
+        dead.data[i] = false;
+        hits.data[i] = 0;
+        return i;
+    }
+
+    /** Macht Kugel {@code i} zur Homing-Kugel (Turn-Rate pro Sekunde, Reichweite der Zielsuche). */
+    public void setHoming(int i, double strength, double range) {
+        homing.data[i] = true;
+        homingStrength.data[i] = strength;
+        homingRange.data[i] = range;
+    }
+
+    /** Position vor dem letzten {@link #update} (für Swept-Collision). */
+    public double prevX(int i) { return prevX.data[i]; }
+    public double prevY(int i) { return prevY.data[i]; }
+    public double vx(int i) { return vx.data[i]; }
+    public double vy(int i) { return vy.data[i]; }
+    public int radius(int i) { return radius.data[i]; }
+    public double damage(int i) { return damage.data[i]; }
+    public boolean isHoming(int i) { return homing.data[i]; }
+    public boolean isDead(int i) { return dead.data[i]; }
+
+    /** Ob Kugel {@code i} den Gegner mit dieser Id schon getroffen hat (innerhalb der letzten {@link #HIT_MEMORY}). */
+    public boolean hasHit(int i, int enemyId) {
+        int[] ids = hitIds.data;
+        int base = i * HIT_MEMORY;
+        for (int k = 0, n = Math.min(hits.data[i], HIT_MEMORY); k < n; k++) {
+            if (ids[base + k] == enemyId) return true;
+        }
+        return false;
+    }
+
+    /** Merkt sich einen Treffer von Kugel {@code i}; ersetzt bei voller Liste den ältesten. */
+    public void rememberHit(int i, int enemyId) {
+        hitIds.data[i * HIT_MEMORY + hits.data[i] % HIT_MEMORY] = enemyId;
+        hits.data[i]++;
+    }
+
+    /**
+     * Verbraucht einen Durchschlag nach einem Treffer; ohne Rest stirbt die Kugel am Trefferpunkt.
+     *
+     * @return true, wenn die Kugel weiterfliegt
+     */
+    public boolean pierceOrStop(int i, double hitX, double hitY) {
+        if (pierce.data[i] > 0) {
+            pierce.data[i]--;
+            return true;
+        }
+        dead.data[i] = true;
+        x.data[i] = hitX;
+        y.data[i] = hitY;
+        return false;
+    }
+
+    /** Bewegung und Lebenszeit; Homing-Kugeln lenken zum nächsten Gegner im Grid. */
+    public void update(double dt, Enemies enemies, EnemyGrid grid) {
+        double[] x = this.x.data, y = this.y.data, px = prevX.data, py = prevY.data;
+        double[] vx = this.vx.data, vy = this.vy.data, life = this.life.data, delay = spawnDelay.data;
+        boolean[] homing = this.homing.data, dead = this.dead.data;
+        for (int i = 0; i < count; i++) {
+            double step = dt;
+            if (delay[i] > 0) {
+                step = Math.max(0, dt - delay[i]);
+                delay[i] = 0;
+            }
+            if (homing[i]) steer(i, step, enemies, grid);
+            // Bewegung & Life
+            px[i] = x[i]; py[i] = y[i];
+            x[i] += vx[i] * step; y[i] += vy[i] * step;
+            life[i] -= step;
+            if (life[i] <= 0) dead[i] = true;
+        }
+    }
+
+    /** Dreht die Geschwindigkeit zum nächsten Gegner in Reichweite, Betrag bleibt gleich. */
+    private void steer(int i, double dt, Enemies enemies, EnemyGrid grid) {
+        double[] x = this.x.data, y = this.y.data, vx = this.vx.data, vy = this.vy.data;
+        int target = grid.nearest(x[i], y[i], homingRange.data[i]);
+        if (target < 0) return;
+        double speed = Math.sqrt(vx[i] * vx[i] + vy[i] * vy[i]);
+        double cx = 0, cy = 0;
+        if (speed > 1e-9) { cx = vx[i] / speed; cy = vy[i] / speed; }
+        double tx = enemies.x(target) - x[i], ty = enemies.y(target) - y[i];
+        double tl = Math.sqrt(tx * tx + ty * ty);
+        if (tl > 1e-9) { tx /= tl; ty /= tl; } else { tx = 0; ty = 0; }
+        double t = 1.0 - Math.exp(-homingStrength.data[i] * dt); // exponentiell: gleiches Verhalten bei jeder Tickrate
+        double nx = cx + (tx - cx) * t, ny = cy + (ty - cy) * t;
+        double nl = Math.sqrt(nx * nx + ny * ny);
+        if (nl > 1e-9) { nx /= nl; ny /= nl; } else { nx = 0; ny = 0; }
+        vx[i] = nx * speed;
+        vy[i] = ny * speed;
+    }
+
+    /** Entfernt tote Kugeln stabil; liefert die Anzahl entfernter. */
+    public int compact() {
+        return compact(dead);
+    }
+
+    public void render(Graphics2D g) {
+        double[] x = this.x.data, y = this.y.data;
+        for (int i = 0; i < count; i++) {
+            int r = radius.data[i], s = r * 2;
+            g.setColor(BODY);
+            g.fillOval((int) (x[i] - r), (int) (y[i] - r), s, s);
+            if (homing.data[i]) {
+                g.setColor(HOMING_RING);
+                g.drawOval((int) (x[i] - r - 2), (int) (y[i] - r - 2), s + 4, s + 4);
+            }
+        }
+    }
+
+    /** Software-Rasterisierung; {@code s} = Welt→Bildschirm-Skalierung. */
+    public void rasterize(Raster r, double s) {
+        double[] x = this.x.data, y = this.y.data;
+        double minY = r.clipY0() / s, maxY = r.clipY1() / s; // Band-Culling inkl. Homing-Ring
+        for (int i = 0; i < count; i++) {
+            if (y[i] + radius.data[i] + 3 < minY || y[i] - radius.data[i] - 3 > maxY) continue;
+            double cx = x[i] * s, cy = y[i] * s;
+            r.fillCircle(cx, cy, radius.data[i] * s, 0xF0FAFF);
+            if (homing.data[i]) {
+                r.ring(cx, cy, (radius.data[i] + 2.5) * s, (radius.data[i] + 1.5) * s, 0x78C8FF, 120);
+            }
+        }
+    }
+}
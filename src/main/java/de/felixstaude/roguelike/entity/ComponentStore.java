@@ -0,0 +1,197 @@
+package de.felixstaude.roguelike.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gemeinsame Grundlage der dichten Entity-Speicher ({@link Enemies}, {@link Bullets}, {@link Particles}):
+ * jede Komponente (Position, Geschwindigkeit, Gesundheit, Lebenszeit, Collider, …) besteht aus einer oder
+ * mehreren {@link Column Spalten}, also parallelen Arrays über alle Entities. Eine Entity ist nur ein Index;
+ * Systeme laufen linear über die Spalten, die sie brauchen.
+ *
+ * <p>Die Spalten meldet der Speicher im Konstruktor an; Wachsen, Verschieben, stabiles Zusammenschieben und
+ * Swap-with-last gibt es damit nur einmal hier statt in jedem Speicher. Alle Speicher haben eine Position.
+ */
+public abstract class ComponentStore {
+    private final List<Column> columns = new ArrayList<>();
+    private int capacity;
+    protected int count = 0;
+
+    protected final Doubles x, y;
+
+    protected ComponentStore(int initialCapacity) {
+        capacity = Math.max(16, initialCapacity);
+        x = doubles();
+        y = doubles();
+    }
+
+    /** Eine Spalte: {@code stride} Werte pro Entity, wächst mit dem Speicher. */
+    public abstract static class Column {
+        final int stride;
+
+        Column(int stride) {
+            this.stride = stride;
+        }
+
+        abstract void resize(int entities);
+
+        abstract void move(int from, int to);
+
+        /** Schiebt die Werte der Überlebenden ({@code !dead[i]}, {@code i < n}) stabil nach vorn. */
+        abstract void compact(boolean[] dead, int n);
+    }
+
+    public static final class Doubles extends Column {
+        public double[] data;
+
+        Doubles(int capacity) {
+            super(1);
+            data = new double[capacity];
+        }
+
+        @Override void resize(int n) { data = Arrays.copyOf(data, n); }
+        @Override void move(int from, int to) { data[to] = data[from]; }
+        @Override void compact(boolean[] dead, int n) {
+            int w = 0;
+            for (int r = 0; r < n; r++) if (!dead[r]) data[w++] = data[r];
+        }
+    }
+
+    public static final class Floats extends Column {
+        public float[] data;
+
+        Floats(int capacity) {
+            super(1);
+            data = new float[capacity];
+        }
+
+        @Override void resize(int n) { data = Arrays.copyOf(data, n); }
+        @Override void move(int from, int to) { data[to] = data[from]; }
+        @Override void compact(boolean[] dead, int n) {
+            int w = 0;
+            for (int r = 0; r < n; r++) if (!dead[r]) data[w++] = data[r];
+        }
+    }
+
+    public static final class Ints extends Column {
+        public int[] data;
+
+        Ints(int capacity, int stride) {
+            super(stride);
+            data = new int[capacity * stride];
+        }
+
+        @Override void resize(int n) { data = Arrays.copyOf(data, n * stride); }
+        @Override void move(int from, int to) { System.arraycopy(data, from * stride, data, to * stride, stride); }
+        @Override void compact(boolean[] dead, int n) {
+            int w = 0;
+            for (int r = 0; r < n; r++) {
+                if (dead[r]) continue;
+                if (w != r) move(r, w);
+                w++;
+            }
+        }
+    }
+
+    public static final class Flags extends Column {
+        public boolean[] data;
+
+        Flags(int capacity) {
+            super(1);
+            data = new boolean[capacity];
+        }
+
+        @Override void resize(int n) { data = Arrays.copyOf(data, n); }
+        @Override void move(int from, int to) { data[to] = data[from]; }
+        @Override void compact(boolean[] dead, int n) {
+            int w = 0;
+            for (int r = 0; r < n; r++) if (!dead[r]) data[w++] = data[r];
+        }
+    }
+
+    /** Referenzen (z.B. geteilte Farb-Instanzen); werden beim Entfernen nicht genullt, nur überschrieben. */
+    public static final class Refs<T> extends Column {
+        public T[] data;
+
+        Refs(T[] data) {
+            super(1);
+            this.data = data;
+        }
+
+        @Override void resize(int n) { data = Arrays.copyOf(data, n); }
+        @Override void move(int from, int to) { data[to] = data[from]; }
+        @Override void compact(boolean[] dead, int n) {
+            int w = 0;
+            for (int r = 0; r < n; r++) if (!dead[r]) data[w++] = data[r];
+        }
+    }
+
+    protected final Doubles doubles() { return register(new Doubles(capacity)); }
+    protected final Floats floats() { return register(new Floats(capacity)); }
+    protected final Ints ints() { return ints(1); }
+    protected final Ints ints(int stride) { return register(new Ints(capacity, stride)); }
+    protected final Flags flags() { return register(new Flags(capacity)); }
+    protected final <T> Refs<T> refs(T[] empty) { return register(new Refs<>(Arrays.copyOf(empty, capacity))); }
+
+    private <C extends Column> C register(C column) {
+        columns.add(column);
+        return column;
+    }
+
+    public int size() { return count; }
+
+    public void clear() { count = 0; }
+
+    public int capacity() { return capacity; }
+
+    /** Platz für {@code n} Entities reservieren, damit Spitzen mitten in der Wave nichts vergrößern. */
+    public void ensureCapacity(int n) {
+        if (n > capacity) resize(n);
+    }
+
+    public double x(int i) { return x.data[i]; }
+    public double y(int i) { return y.data[i]; }
+
+    /** Hängt eine Entity an (Spalten noch mit alten Werten belegt) und liefert ihren Index. */
+    protected final int append() {
+        if (count == capacity) resize(capacity * 2);
+        return count++;
+    }
+
+    /**
+     * Entfernt alle als tot markierten Entities in einem stabilen Durchlauf: die Reihenfolge der Überlebenden
+     * bleibt erhalten, damit Treffer-, Ausweich- und Spawn-Reihenfolge (und damit Replays) nicht vom
+     * Speicherlayout abhängen. Linear, egal wie viele sterben; Spalte für Spalte, damit jede Schleife
+     * nur ein Array durchläuft. Liefert die Anzahl entfernter.
+     */
+    protected final int compact(Flags dead) {
+        boolean[] d = dead.data;
+        int alive = 0;
+        for (int i = 0; i < count; i++) if (!d[i]) alive++;
+        int removed = count - alive;
+        if (removed == 0) return 0;
+        for (int c = 0, n = columns.size(); c < n; c++) {
+            Column column = columns.get(c);
+            if (column != dead) column.compact(d, count);
+        }
+        Arrays.fill(d, 0, alive, false); // die Markierungen selbst zuletzt: alle anderen Spalten lesen sie
+        count = alive;
+        return removed;
+    }
+
+    /** Entfernt Entity {@code i} in O(1), die letzte rückt nach (Reihenfolge nicht stabil). */
+    protected final void swapRemove(int i) {
+        int last = --count;
+        if (i != last) move(last, i);
+    }
+
+    private void move(int from, int to) {
+        for (int c = 0, n = columns.size(); c < n; c++) columns.get(c).move(from, to);
+    }
+
+    private void resize(int n) {
+        capacity = n;
+        for (int c = 0, size = columns.size(); c < size; c++) columns.get(c).resize(n);
+    }
+}
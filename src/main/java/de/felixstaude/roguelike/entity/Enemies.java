@@ -0,0 +1,261 @@
+package de.felixstaude.roguelike.entity;
+
+import de.felixstaude.roguelike.math.Vec2;
+import de.felixstaude.roguelike.render.Raster;
+import de.felixstaude.roguelike.util.RenderQuality;
+import de.felixstaude.roguelike.world.Arena;
+import de.felixstaude.roguelike.world.EnemyGrid;
+import de.felixstaude.roguelike.world.FlowField;
+
+import java.awt.*;
+
+/**
+ * Gegner-Speicher auf dem {@link ComponentStore}. Jede Entity hat Position, Tempo, Gesundheit, Collider,
+ * Aussehen und eine Id; {@link #CONTACT Berührungsschaden} und {@link #DODGE Ausweichen} sind optionale
+ * Komponenten, gesetzt über die Maske ihres {@link EnemyArchetype}. Systeme ({@link #update},
+ * {@link #computeDodges}, Treffer und Berührung im {@code DamageSystem}) laufen linear über die Spalten
+ * und überspringen Entities ohne die benötigte Komponente.
+ *
+ * <p>Ein Gegner ist ein Index, gültig bis zum nächsten {@link #compact()} am Tick-Ende; über Ticks hinweg
+ * identifiziert ihn seine {@link #id}. Der Speicher wird zu Wave-Beginn auf das Gegner-Cap reserviert und
+ * danach nur wiederverwendet – Spawns allozieren nichts.
+ */
+public class Enemies extends ComponentStore {
+    /** Komponente: schadet dem Spieler bei Berührung (mit Cooldown). */
+    public static final int CONTACT = 1;
+    /** Komponente: weicht Kugeln aus, die auf den Gegner zufliegen. */
+    public static final int DODGE = 1 << 1;
+
+    /**
+     * Halbe Breite des Korridors um die Flugbahn einer Kugel, in dem ein Gegner ihr ausweicht.
+     * Bewusst enger als früher: da wich jeder Gegner der seitlich nächsten Kugel in Flugrichtung aus, egal
+     * wie weit sie vorbeiging, und zwar mit voller Stärke. 80 px sind das Fünffache des Trefferkorridors
+     * (Gegner- plus Kugelradius); weiter entfernte Kugeln hätten ihn ohnehin verfehlt.
+     */
+    public static final double DODGE_RADIUS = 80.0;
+
+    private static final Color SHADOW = new Color(20, 22, 28);
+    private static final Color OUTLINE = new Color(5, 8, 12);
+    private static final int SHADOW_RGB = SHADOW.getRGB() & 0xFFFFFF;
+    private static final int OUTLINE_RGB = OUTLINE.getRGB() & 0xFFFFFF;
+
+    private final Ints id, components, radius;
+    private final Doubles speed, hp, maxHp;
+    private final Flags dead;
+    private final Doubles contactDamage, touchCooldown, touchCooldownMax;
+    private final Doubles dodgeFactor, lookahead, dodgeX, dodgeY, dodgePerp;
+    private final Refs<Color> color;
+    private final Ints rgb;
+
+    private int nextId = 0;
+    // Scratch-Vektor: update() alloziert nichts (wichtig bei tausenden Gegnern im Horde-Modus)
+    private final Vec2 toPlayer = new Vec2();
+
+    public Enemies() {
+        this(256);
+    }
+
+    public Enemies(int initialCapacity) {
+        super(initialCapacity);
+        id = ints(); components = ints(); radius = ints();
+        speed = doubles(); hp = doubles(); maxHp = doubles();
+        dead = flags();
+        contactDamage = doubles(); touchCooldown = doubles(); touchCooldownMax = doubles();
+        dodgeFactor = doubles(); lookahead = doubles();
+        dodgeX = doubles(); dodgeY = doubles(); dodgePerp = doubles();
+        color = refs(new Color[0]);
+        rgb = ints();
+    }
+
+    /** Legt einen Gegner der Art {@code type} an Position (x, y) an; liefert seinen Index. */
+    public int spawn(EnemyArchetype type, double px, double py) {
+        int i = append();
+        id.data[i] = ++nextId;
+        components.data[i] = type.components;
+        x.data[i] = px; y.data[i] = py;
+        speed.data[i] = type.baseSpeed;
+        radius.data[i] = type.radius;
+        hp.data[i] = type.hp; maxHp.data[i] = type.hp;
+        dead.data[i] = false;
+        contactDamage.data[i] = type.contactDamage;
+        touchCooldown.data[i] = 0.0;
+        touchCooldownMax.data[i] = type.touchCooldown;
+        dodgeFactor.data[i] = type.dodgeFactor;
+        lookahead.data[i] = type.lookahead;
+        dodgeX.data[i] = 0; dodgeY.data[i] = 0;
+        setColor(i, type.color);
+        return i;
+    }
+
+    /** Eindeutig pro Spawn; Kugeln merken sich Treffer darüber, auch nachdem der Index verrutscht ist. */
+    public int id(int i) { return id.data[i]; }
+    public boolean has(int i, int component) { return (components.data[i] & component) != 0; }
+    public int radius(int i) { return radius.data[i]; }
+    public double speed(int i) { return speed.data[i]; }
+    public double hp(int i) { return hp.data[i]; }
+    public double maxHp(int i) { return maxHp.data[i]; }
+    public boolean isDead(int i) { return dead.data[i]; }
+    public double contactDamage(int i) { return contactDamage.data[i]; }
+    public double dodgeFactor(int i) { return dodgeFactor.data[i]; }
+    /** Ausweichrichtung aus dem letzten {@link #computeDodges} (Einheitsvektor, 0/0 = keine Kugel in Reichweite). */
+    public double dodgeX(int i) { return dodgeX.data[i]; }
+    public double dodgeY(int i) { return dodgeY.data[i]; }
+    public Color color(int i) { return color.data[i]; }
+
+    public void setSpeed(int i, double value) { speed.data[i] = value; }
+    public void setDodgeFactor(int i, double value) { dodgeFactor.data[i] = value; }
+
+    /** Setzt maximale und aktuelle HP (Spawn-Skalierung). */
+    public void setMaxHp(int i, double value) {
+        maxHp.data[i] = value;
+        hp.data[i] = value;
+    }
+
+    public void setColor(int i, Color c) {
+        color.data[i] = c;
+        rgb.data[i] = c.getRGB() & 0xFFFFFF;
+    }
+
+    public void damage(int i, double dmg) {
+        hp.data[i] -= dmg;
+        if (hp.data[i] <= 0) { hp.data[i] = 0; dead.data[i] = true; }
+    }
+
+    /**
+     * Berührungs-Cooldown um {@code dt} herunterzählen.
+     *
+     * @return true, wenn der Gegner lebt, {@link #CONTACT} hat und wieder zuschlagen darf
+     */
+    public boolean touchReady(int i, double dt) {
+        if ((components.data[i] & CONTACT) == 0) return false;
+        touchCooldown.data[i] -= dt;
+        return !dead.data[i] && touchCooldown.data[i] <= 0;
+    }
+
+    /** Nach einem Treffer: Cooldown neu starten, Rest des Ticks übernehmen (kein Aufrunden auf Tick-Vielfache). */
+    public void restartTouchCooldown(int i, double dt) {
+        touchCooldown.data[i] = touchCooldownMax.data[i] + Math.max(-dt, touchCooldown.data[i]);
+    }
+
+    /**
+     * Bewegt alle Gegner entlang des Flow-Fields, versetzt um die Ausweichrichtung aus {@link #computeDodges}
+     * desselben Ticks, und hält sie in {@code bounds}.
+     */
+    public void update(double dt, FlowField flow, Arena bounds) {
+        double[] x = this.x.data, y = this.y.data, speed = this.speed.data;
+        double[] dodgeX = this.dodgeX.data, dodgeY = this.dodgeY.data, dodgeFactor = this.dodgeFactor.data;
+        int[] radius = this.radius.data;
+        for (int i = 0; i < count; i++) {
+            flow.sample(x[i], y[i], toPlayer);
+            double dx = toPlayer.x + dodgeX[i] * dodgeFactor[i];
+            double dy = toPlayer.y + dodgeY[i] * dodgeFactor[i];
+            double len = Math.sqrt(dx * dx + dy * dy);
+            if (len > 1e-9) {
+                x[i] += dx / len * speed[i] * dt;
+                y[i] += dy / len * speed[i] * dt;
+            }
+            int r = radius[i];
+            x[i] = Math.max(bounds.x + r, Math.min(bounds.x + bounds.w - r, x[i]));
+            y[i] = Math.max(bounds.y + r, Math.min(bounds.y + bounds.h - r, y[i]));
+        }
+    }
+
+    /**
+     * Ausweichrichtungen aller {@link #DODGE}-Gegner für diesen Tick: je Gegner weg von der Kugel, deren
+     * Flugbahn ihm am nächsten kommt – sofern sie auf ihn zufliegt, höchstens {@code lookahead} entfernt ist
+     * und innerhalb von {@link #DODGE_RADIUS} an ihm vorbeiginge.
+     * Statt dass jeder Gegner alle Kugeln prüft, fragt jede Kugel das Grid nur im Rechteck um ihren
+     * Vorausblick-Korridor ab. Das Grid muss die aktuellen Positionen enthalten.
+     */
+    public void computeDodges(Bullets bullets, EnemyGrid grid) {
+        double[] dodgeX = this.dodgeX.data, dodgeY = this.dodgeY.data, dodgePerp = this.dodgePerp.data;
+        double[] lookahead = this.lookahead.data;
+        double reach = 0.0;
+        for (int i = 0; i < count; i++) {
+            dodgeX[i] = 0;
+            dodgeY[i] = 0;
+            dodgePerp[i] = Double.MAX_VALUE;
+            if ((components.data[i] & DODGE) != 0 && lookahead[i] > reach) reach = lookahead[i];
+        }
+        if (reach <= 0) return;
+        for (int b = 0, n = bullets.size(); b < n; b++) {
+            double vx = bullets.vx(b), vy = bullets.vy(b);
+            double vlen = Math.sqrt(vx * vx + vy * vy);
+            if (vlen < 1e-9) continue;
+            double bx = vx / vlen, by = vy / vlen;
+            double x0 = bullets.x(b), y0 = bullets.y(b);
+            double x1 = x0 + bx * reach, y1 = y0 + by * reach;
+            int found = grid.query(Math.min(x0, x1) - DODGE_RADIUS, Math.min(y0, y1) - DODGE_RADIUS,
+                    Math.max(x0, x1) + DODGE_RADIUS, Math.max(y0, y1) + DODGE_RADIUS);
+            for (int k = 0; k < found; k++) considerBullet(grid.result(k), x0, y0, bx, by);
+        }
+    }
+
+    /** Übernimmt die Kugel (Position, Flugrichtung normiert) als Ausweichziel, wenn sie näher vorbeifliegt. */
+    private void considerBullet(int i, double bx0, double by0, double bx, double by) {
+        if ((components.data[i] & DODGE) == 0) return;
+        double relX = x.data[i] - bx0, relY = y.data[i] - by0;
+        double along = relX * bx + relY * by;
+        if (along < 0 || along > lookahead.data[i]) return;
+        double perpX = relX - bx * along, perpY = relY - by * along;
+        double dperp = Math.sqrt(perpX * perpX + perpY * perpY);
+        if (dperp > DODGE_RADIUS || dperp >= dodgePerp.data[i]) return;
+        dodgePerp.data[i] = dperp;
+        if (dperp > 1e-6) {
+            dodgeX.data[i] = perpX / dperp;
+            dodgeY.data[i] = perpY / dperp;
+        } else {
+            dodgeX.data[i] = -by;
+            dodgeY.data[i] = bx;
+        }
+    }
+
+    /** Entfernt tote Gegner stabil (Reihenfolge bleibt); liefert die Anzahl entfernter. */
+    public int compact() {
+        return compact(dead);
+    }
+
+    public void render(Graphics2D g, RenderQuality quality) {
+        double[] x = this.x.data, y = this.y.data;
+        int[] radius = this.radius.data;
+        Color[] color = this.color.data;
+        boolean simplified = quality.simplifiedOutlines();
+        for (int i = 0; i < count; i++) {
+            int r = radius[i];
+            int px = (int) (x[i] - r), py = (int) (y[i] - r);
+            if (simplified) {
+                // Schnellstufe: nur ein gefüllter Kreis statt Schatten + Füllung + Kontur
+                g.setColor(color[i]);
+                g.fillOval(px, py, r * 2, r * 2);
+                continue;
+            }
+            g.setColor(SHADOW);
+            g.fillOval((int) (x[i] - r - 2), (int) (y[i] - r - 2), (r * 2) + 4, (r * 2) + 4);
+            g.setColor(color[i]);
+            g.fillOval(px, py, r * 2, r * 2);
+            g.setColor(OUTLINE);
+            g.drawOval(px, py, r * 2, r * 2);
+        }
+    }
+
+    /**
+     * Software-Rasterisierung; {@code s} = Welt→Bildschirm-Skalierung.
+     * {@code simplified} = Schnellstufe der Render-Qualität, einmal pro Frame ermittelt (läuft in Worker-Threads).
+     */
+    public void rasterize(Raster r, double s, boolean simplified) {
+        double[] x = this.x.data, y = this.y.data;
+        int[] radius = this.radius.data, rgb = this.rgb.data;
+        double minY = r.clipY0() / s, maxY = r.clipY1() / s; // Band-Culling, Schatten ragt 2 px über den Radius
+        for (int i = 0; i < count; i++) {
+            if (y[i] + radius[i] + 3 < minY || y[i] - radius[i] - 3 > maxY) continue;
+            double cx = x[i] * s, cy = y[i] * s, rr = radius[i] * s;
+            if (simplified) {
+                r.fillCircle(cx, cy, rr, rgb[i]);
+                continue;
+            }
+            r.fillCircle(cx, cy, rr + 2 * s, SHADOW_RGB);
+            r.fillCircle(cx, cy, rr, rgb[i]);
+            r.ring(cx, cy, rr + 0.5 * s, rr - 0.5 * s, OUTLINE_RGB, 255);
+        }
+    }
+}
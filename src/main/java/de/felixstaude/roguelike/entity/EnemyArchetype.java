@@ -0,0 +1,40 @@
+package de.felixstaude.roguelike.entity;
+
+import java.awt.Color;
+
+/**
+ * Gegner-Art als Komponenten-Kombination: welche optionalen Komponenten ({@link Enemies#CONTACT},
+ * {@link Enemies#DODGE}) eine Entity bekommt und mit welchen Startwerten. Neue Arten sind neue Konstanten
+ * mit anderer Maske oder anderen Werten, keine Unterklassen; Systeme prüfen nur die Maske.
+ * Die Wave-Skalierung (HP, Tempo, Ausweichen) legt der Spawner darüber.
+ */
+public enum EnemyArchetype {
+    /** Standard-Gegner: läuft aufs Ziel zu, weicht Kugeln aus, schadet bei Berührung. */
+    GRUNT(Enemies.CONTACT | Enemies.DODGE, 100.0, 40.0, 12, 24.0, 10.0, 0.60, 0.35, 380.0,
+            new Color(230, 95, 95));
+
+    /** Optionale Komponenten als Bitmaske. */
+    public final int components;
+    /** Tempo beim Spawn: {@code baseSpeed + zufällig [0, speedJitter)}. */
+    public final double baseSpeed, speedJitter;
+    public final int radius;
+    public final double hp;
+    public final double contactDamage, touchCooldown;
+    public final double dodgeFactor, lookahead;
+    public final Color color;
+
+    EnemyArchetype(int components, double baseSpeed, double speedJitter, int radius, double hp,
+                   double contactDamage, double touchCooldown, double dodgeFactor, double lookahead,
+                   Color color) {
+        this.components = components;
+        this.baseSpeed = baseSpeed;
+        this.speedJitter = speedJitter;
+        this.radius = radius;
+        this.hp = hp;
+        this.contactDamage = contactDamage;
+        this.touchCooldown = touchCooldown;
+        this.dodgeFactor = dodgeFactor;
+        this.lookahead = lookahead;
+        this.color = color;
+    }
+}
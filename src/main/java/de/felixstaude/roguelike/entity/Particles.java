@@ -0,0 +1,160 @@
+package de.felixstaude.roguelike.entity;
+
+import de.felixstaude.roguelike.math.Vec2;
+import de.felixstaude.roguelike.render.Raster;
+
+import java.awt.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Partikel-Speicher auf dem {@link ComponentStore}: Position, Geschwindigkeit, Lebenszeit,
+ * Größe und Farbe liegen in parallelen Spalten und werden linear durchlaufen.
+ * Tote Partikel werden per Swap-with-last entfernt, die Reihenfolge ist also nicht stabil.
+ */
+public class Particles extends ComponentStore {
+    private static final Color MUZZLE = new Color(0x78C8FF);
+    private static final Color HIT = new Color(0xFFF078);
+    /** Ausblend-Stufen fürs Java2D-Rendering; je Stufe ein fertiges Composite statt einer Farbe pro Partikel. */
+    private static final int ALPHA_STEPS = 32;
+    private static final AlphaComposite[] FADE = fadeComposites();
+
+    private final Doubles vx, vy, life, maxLife;
+    private final Floats size;
+    private final Ints rgb;
+    private final Refs<Color> color; // deckende Grundfarbe (geteilte Instanz) fürs Java2D-Rendering
+
+    // Budget (vom BudgetGovernor gesetzt): Anteil der Spawns, die tatsächlich entstehen, und Obergrenze
+    private double spawnScale = 1.0;
+    private int maxLive = Integer.MAX_VALUE;
+    private double spawnCredit = 0.0;
+
+    public Particles() {
+        this(256);
+    }
+
+    public Particles(int initialCapacity) {
+        super(initialCapacity);
+        vx = doubles(); vy = doubles();
+        life = doubles(); maxLife = doubles();
+        size = floats();
+        rgb = ints();
+        color = refs(new Color[0]);
+    }
+
+    private static AlphaComposite[] fadeComposites() {
+        AlphaComposite[] fade = new AlphaComposite[ALPHA_STEPS];
+        for (int k = 0; k < ALPHA_STEPS; k++) {
+            fade[k] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, k / (float) (ALPHA_STEPS - 1));
+        }
+        return fade;
+    }
+
+    public void setBudget(double spawnScale, int maxLive) {
+        this.spawnScale = Math.max(0.0, Math.min(1.0, spawnScale));
+        this.maxLive = Math.max(0, maxLive);
+        if (count > this.maxLive) count = this.maxLive;
+        // Platz bis zum Limit reservieren: neue Spitzen mitten in der Wave vergrößern dann nichts mehr
+        if (this.maxLive != Integer.MAX_VALUE) ensureCapacity(this.maxLive);
+    }
+
+    /** Dünnt Spawns gleichmäßig aus (jeder n-te statt zufällig) und respektiert das Live-Limit. */
+    private boolean admit() {
+        if (count >= maxLive) return false;
+        if (spawnScale >= 1.0) return true;
+        spawnCredit += spawnScale;
+        if (spawnCredit < 1.0) return false;
+        spawnCredit -= 1.0;
+        return true;
+    }
+
+    public void muzzle(double px, double py, Vec2 aim) {
+        if (!admit()) return;
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        double spread = (rnd.nextDouble() - 0.5) * 80.0 * 0.01;
+        double l = 0.16 + rnd.nextDouble() * 0.08;
+        add(px, py,
+                aim.x * 80 - aim.y * spread,
+                aim.y * 80 + aim.x * spread,
+                l, (float) (3 + rnd.nextDouble() * 2), MUZZLE);
+    }
+
+    public void hit(double px, double py) {
+        if (!admit()) return;
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        double ang = rnd.nextDouble() * Math.PI * 2;
+        double spd = 100 + rnd.nextDouble() * 180;
+        double l = 0.18 + rnd.nextDouble() * 0.10;
+        add(px, py, Math.cos(ang) * spd, Math.sin(ang) * spd, l, (float) (2 + rnd.nextDouble() * 2), HIT);
+    }
+
+    public void burst(double px, double py, Color c) {
+        if (!admit()) return;
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        double ang = rnd.nextDouble() * Math.PI * 2;
+        double spd = 120 + rnd.nextDouble() * 240;
+        double l = 0.35 + rnd.nextDouble() * 0.25;
+        add(px, py, Math.cos(ang) * spd, Math.sin(ang) * spd, l, (float) (3 + rnd.nextDouble() * 3),
+                c.getAlpha() == 255 ? c : new Color(c.getRGB() & 0xFFFFFF));
+    }
+
+    private void add(double px, double py, double pvx, double pvy, double l, float s, Color c) {
+        int i = append();
+        x.data[i] = px; y.data[i] = py;
+        vx.data[i] = pvx; vy.data[i] = pvy;
+        life.data[i] = l; maxLife.data[i] = l;
+        size.data[i] = s;
+        rgb.data[i] = c.getRGB() & 0xFFFFFF;
+        color.data[i] = c;
+    }
+
+    public void update(double dt) {
+        double[] x = this.x.data, y = this.y.data, vx = this.vx.data, vy = this.vy.data, life = this.life.data;
+        int i = 0;
+        while (i < count) {
+            life[i] -= dt;
+            if (life[i] <= 0) {
+                swapRemove(i); // letzter rückt nach i und wird im selben Durchlauf aktualisiert
+                continue;
+            }
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            i++;
+        }
+    }
+
+    /** Alloziert nichts: Grundfarbe und Ausblend-Composite sind vorab erzeugte Instanzen. */
+    public void render(Graphics2D g) {
+        double[] x = this.x.data, y = this.y.data, life = this.life.data, maxLife = this.maxLife.data;
+        float[] size = this.size.data;
+        Color[] color = this.color.data;
+        Composite old = g.getComposite();
+        Color current = null;
+        int currentStep = -1;
+        for (int i = 0; i < count; i++) {
+            double t = Math.max(0, life[i] / Math.max(0.0001, maxLife[i])); // 1..0
+            int step = (int) (t * (ALPHA_STEPS - 1) + 0.5);
+            if (step == 0) continue;
+            if (step != currentStep) { g.setComposite(FADE[step]); currentStep = step; }
+            if (color[i] != current) { current = color[i]; g.setColor(current); }
+            int s = (int) size[i];
+            g.fillRect((int) (x[i] - s / 2), (int) (y[i] - s / 2), s, s);
+        }
+        g.setComposite(old);
+    }
+
+    /** Software-Rasterisierung; {@code s} = Welt→Bildschirm-Skalierung. */
+    public void rasterize(Raster r, double s) {
+        double[] x = this.x.data, y = this.y.data, life = this.life.data, maxLife = this.maxLife.data;
+        float[] size = this.size.data;
+        int[] rgb = this.rgb.data;
+        double minY = r.clipY0() / s - 8, maxY = r.clipY1() / s + 8; // Band-Culling (Partikel < 8 px)
+        for (int i = 0; i < count; i++) {
+            if (y[i] < minY || y[i] > maxY) continue;
+            double t = Math.max(0, life[i] / Math.max(0.0001, maxLife[i]));
+            int half = (int) size[i] / 2;
+            int sz = (int) size[i];
+            double x0 = (int) (x[i] - half) * s, y0 = (int) (y[i] - half) * s;
+            r.blendRect(x0, y0, x0 + sz * s, y0 + sz * s, rgb[i], (int) (t * 255));
+        }
+    }
+}
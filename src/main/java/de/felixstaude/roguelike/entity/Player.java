@@ -1,10 +1,12 @@
 package de.felixstaude.roguelike.entity;
 
 import de.felixstaude.roguelike.math.Vec2;
+import de.felixstaude.roguelike.render.Raster;
+import de.felixstaude.roguelike.util.RenderQuality;
 
 import java.awt.*;
-import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class Player {
     public final Vec2 pos = new Vec2();
@@ -22,6 +24,8 @@ public class Player {
     public double bulletLife = 1.2;
     public double bulletDamage = 20.0;
 
+    public long shotsFired = 0;
+
     // Progression
     public int xp = 0;
     public int gold = 0;
@@ -36,24 +40,30 @@ public class Player {
     public double homingRange = 260.0;         // Reichweite
 
     private double hitFlash = 0.0;
+    private RandomGenerator random = new SplittableRandom();
+    private final Vec2 aim = new Vec2();
+
+    public void setRandom(RandomGenerator random){ this.random = random; }
 
     public void update(double dt, Vec2 moveDir, double mouseX, double mouseY,
-                       List<Bullet> bullets, List<Particle> particles){
+                       Bullets bullets, Particles particles){
         vel.x = moveDir.x * speed; vel.y = moveDir.y * speed;
         if (moveDir.x==0) vel.x *= Math.max(0, 1 - dt*friction);
         if (moveDir.y==0) vel.y *= Math.max(0, 1 - dt*friction);
         pos.x += vel.x * dt; pos.y += vel.y * dt;
 
-        Vec2 aim = new Vec2(mouseX - pos.x, mouseY - pos.y).normalized();
+        aim.setNormalized(mouseX - pos.x, mouseY - pos.y);
         fireCooldown -= dt;
         while (fireCooldown <= 0.0) {
+            // -fireCooldown = wie lange der Schuss schon fällig ist; die Kugel fliegt nur diesen Rest des Ticks
+            double late = Math.min(dt, -fireCooldown);
             fireCooldown += 1.0 / fireRate;
-            spawnBullets(bullets, particles, aim);
+            spawnBullets(bullets, particles, aim, dt - late);
         }
         hitFlash = Math.max(0.0, hitFlash - dt*3.0);
     }
 
-    private void spawnBullets(List<Bullet> bullets, List<Particle> particles, Vec2 aim){
+    private void spawnBullets(Bullets bullets, Particles particles, Vec2 aim, double spawnDelay){
         if (aim.x==0 && aim.y==0) return;
         int n = 1 + Math.max(0, multishot);
         double baseAng = aim.angle();
@@ -61,23 +71,27 @@ public class Player {
         double start = -step * (n-1)/2.0;
 
         for (int i=0;i<n;i++){
-            Vec2 dir = Vec2.rotate(aim, start + i*step).normalized();
-            Bullet b = new Bullet();
-            b.pos.set(pos.x, pos.y);
-            b.vel = dir.mul(bulletSpeed);
-            b.life = bulletLife;
-            b.damage = bulletDamage;
-            b.radius = 4;
-            b.pierce = Math.max(0, pierce);
+            // aim ist normiert, die Drehung erhält die Länge
+            double c = Math.cos(start + i*step), s = Math.sin(start + i*step);
+            int b = bullets.add(pos.x, pos.y,
+                    (aim.x*c - aim.y*s) * bulletSpeed, (aim.x*s + aim.y*c) * bulletSpeed,
+                    bulletLife, bulletDamage, 4, Math.max(0, pierce), spawnDelay);
             // Homing Roll
-            if (ThreadLocalRandom.current().nextDouble() < homingChance) {
-                b.homing = true;
-                b.homingStrength = homingStrength;
-                b.homingRange = homingRange;
+            if (random.nextDouble() < homingChance) {
+                bullets.setHoming(b, homingStrength, homingRange);
             }
-            bullets.add(b);
+            shotsFired++;
         }
-        for (int i=0;i<4;i++) particles.add(Particle.muzzle(pos.x, pos.y, aim));
+        for (int i=0;i<4;i++) particles.muzzle(pos.x, pos.y, aim);
+    }
+
+    /**
+     * Obergrenze gleichzeitig fliegender eigener Kugeln mit den aktuellen Werten: Salven pro Sekunde mal
+     * Lebenszeit, plus eine Salve für den Tick, in dem alte Kugeln noch leben und neue dazukommen.
+     */
+    public int maxLiveBullets(){
+        int perVolley = 1 + Math.max(0, multishot);
+        return ((int) Math.ceil(fireRate * bulletLife) + 1) * perVolley;
     }
 
     public void addXp(int amount){ xp += amount; }
@@ -88,14 +102,25 @@ public class Player {
     public void heal(double v){ hp = Math.min(maxHp, hp + v); }
     public boolean isDead(){ return hp <= 0; }
 
-    public void render(Graphics2D g){
+    public void render(Graphics2D g, RenderQuality quality){
         int r=radius;
         Color body = new Color(80,210,255);
         Color flash = new Color(255,255,255, (int)(hitFlash*180));
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        if (quality.shapesAntialiased()) {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
         g.setColor(new Color(24,120,160)); g.fillOval((int)(pos.x-r),(int)(pos.y-r), r*2, r*2);
         g.setColor(body); g.fillOval((int)(pos.x-r+3),(int)(pos.y-r+3), r*2-6, r*2-6);
         g.setColor(flash); g.fillOval((int)(pos.x-r),(int)(pos.y-r), r*2, r*2);
         g.setColor(new Color(5,8,12)); g.setStroke(new BasicStroke(2f)); g.drawOval((int)(pos.x-r),(int)(pos.y-r), r*2, r*2);
     }
+
+    /** Software-Rasterisierung; {@code s} = Welt→Bildschirm-Skalierung. */
+    public void rasterize(Raster raster, double s){
+        double cx = pos.x * s, cy = pos.y * s, r = radius * s;
+        raster.fillCircle(cx, cy, r, 0x1878A0);
+        raster.fillCircle(cx, cy, r - 3 * s, 0x50D2FF);
+        raster.blendCircle(cx, cy, r, 0xFFFFFF, (int)(hitFlash*180));
+        raster.ring(cx, cy, r + s, r - s, 0x05080C, 255);
+    }
 }
@@ -1,8 +1,14 @@
 package de.felixstaude.roguelike.input;
 
-import java.awt.event.*;
+import java.awt.event.MouseEvent;
 
-public class Input implements KeyListener, MouseListener, MouseMotionListener {
+/**
+ * Eingabezustand eines Ticks. Wird ausschließlich auf dem Game-Loop-Thread in {@link #poll(InputQueue)}
+ * aus der {@link InputQueue} fortgeschrieben und ist während des restlichen Ticks unverändert.
+ * Flanken (pressed/released/clicked) gelten genau für den Tick, in dem das Event eintraf –
+ * auch ein kurzes Antippen zwischen zwei Ticks geht so nicht verloren.
+ */
+public class Input {
     private final boolean[] keys = new boolean[256];
     private final boolean[] pressed = new boolean[256];
     private final boolean[] released = new boolean[256];
@@ -10,43 +16,63 @@ public class Input implements KeyListener, MouseListener, MouseMotionListener {
     public int mouseX=0, mouseY=0;
     public int mouseCanvasX=0, mouseCanvasY=0;
     public double mouseWorldX=0.0, mouseWorldY=0.0;
-    public boolean mousePressedL=false, mousePressedR=false;
+    public boolean mousePressedL=false, mousePressedR=false;   // gedrückt gehalten
+    public boolean mouseClickedL=false, mouseClickedR=false;   // in diesem Tick gedrückt (Flanke)
 
     public java.util.function.IntConsumer onKeyPressed = null;
 
-    public void poll(){ for (int i=0;i<pressed.length;i++){ pressed[i]=false; released[i]=false; } }
+    /** Flanken zurücksetzen und alle neuen Events der Queue übernehmen. Rückgabe: Anzahl Events. */
+    public int poll(InputQueue queue){
+        for (int i=0;i<pressed.length;i++){ pressed[i]=false; released[i]=false; }
+        mouseClickedL=false; mouseClickedR=false;
+        return queue != null ? queue.drainTo(this) : 0;
+    }
     public boolean isDown(int code){ return code>=0 && code<keys.length && keys[code]; }
     public boolean wasPressed(int code){ return code>=0 && code<pressed.length && pressed[code]; }
     public boolean wasReleased(int code){ return code>=0 && code<released.length && released[code]; }
 
-    @Override public void keyTyped(KeyEvent e) { }
-    @Override public void keyPressed(KeyEvent e){
-        int c=e.getKeyCode();
-        if(c>=0&&c<keys.length){ if(!keys[c]) pressed[c]=true; keys[c]=true; }
-        if(onKeyPressed!=null) onKeyPressed.accept(c);
-    }
-    @Override public void keyReleased(KeyEvent e){
-        int c=e.getKeyCode();
-        if(c>=0&&c<keys.length){ keys[c]=false; released[c]=true; }
+    void apply(int type, int code, int x, int y){
+        switch (type) {
+            case InputQueue.KEY_DOWN -> {
+                if(code>=0&&code<keys.length){ if(!keys[code]) pressed[code]=true; keys[code]=true; }
+                if(onKeyPressed!=null) onKeyPressed.accept(code);
+            }
+            case InputQueue.KEY_UP -> {
+                if(code>=0&&code<keys.length){ keys[code]=false; released[code]=true; }
+            }
+            case InputQueue.MOUSE_MOVE -> setMouse(x, y);
+            case InputQueue.MOUSE_DOWN -> {
+                setMouse(x, y);
+                if(code==MouseEvent.BUTTON1){ mousePressedL=true; mouseClickedL=true; }
+                if(code==MouseEvent.BUTTON3){ mousePressedR=true; mouseClickedR=true; }
+            }
+            case InputQueue.MOUSE_UP -> {
+                setMouse(x, y);
+                if(code==MouseEvent.BUTTON1) mousePressedL=false;
+                if(code==MouseEvent.BUTTON3) mousePressedR=false;
+            }
+            default -> { }
+        }
     }
 
-    @Override public void mouseClicked(MouseEvent e) { }
-    @Override public void mousePressed(MouseEvent e){
-        if(e.getButton()==MouseEvent.BUTTON1) mousePressedL=true;
-        if(e.getButton()==MouseEvent.BUTTON3) mousePressedR=true;
+    /** Alle gehaltenen Tasten und Buttons loslassen, wenn ein Release-Event verloren ging. */
+    void releaseAll(){
+        for (int i=0;i<keys.length;i++){ if(keys[i]){ keys[i]=false; released[i]=true; } }
+        mousePressedL=false; mousePressedR=false;
     }
-    @Override public void mouseReleased(MouseEvent e){
-        if(e.getButton()==MouseEvent.BUTTON1) mousePressedL=false;
-        if(e.getButton()==MouseEvent.BUTTON3) mousePressedR=false;
+
+    // --- Programmatische Steuerung (Bots / Headless-Simulation), nur vom Game-Loop-Thread ---
+    public void setKey(int code, boolean down){
+        if(code<0||code>=keys.length) return;
+        if(down && !keys[code]) pressed[code]=true;
+        if(!down && keys[code]) released[code]=true;
+        keys[code]=down;
     }
-    @Override public void mouseEntered(MouseEvent e) { }
-    @Override public void mouseExited(MouseEvent e) { }
-    @Override public void mouseDragged(MouseEvent e){ mouseMoved(e); }
-    @Override public void mouseMoved(MouseEvent e){
-        mouseCanvasX = e.getX();
-        mouseCanvasY = e.getY();
-        mouseX = mouseCanvasX;
-        mouseY = mouseCanvasY;
+    public void setMouse(int x, int y){
+        mouseCanvasX = x;
+        mouseCanvasY = y;
+        mouseX = x;
+        mouseY = y;
     }
 
     public void setMouseWorld(double worldX, double worldY) {
@@ -0,0 +1,133 @@
+package de.felixstaude.roguelike.input;
+
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-freier Single-Producer/Single-Consumer-Ringpuffer zwischen AWT-Event-Thread (schreibt)
+ * und Game-Loop (liest einmal pro Tick via {@link Input#poll(InputQueue)}).
+ * Events sind in ein {@code long} gepackt, Schreiben und Lesen allozieren nichts.
+ *
+ * <p>Bei Überlauf gehen nie Releases verloren, sonst bliebe eine Taste hängen: ein Viertel des Rings ist
+ * für {@code KEY_UP}/{@code MOUSE_UP} reserviert, Mausbewegungen werden dann zur neuesten Position
+ * zusammengefasst und erst Key-/Button-Downs verworfen. Reicht selbst die Reserve nicht, lässt der
+ * Consumer an der Stelle des verlorenen Releases alles los ({@link Input#releaseAll()}).
+ */
+public final class InputQueue implements KeyListener, MouseListener, MouseMotionListener {
+    static final int KEY_DOWN = 1;
+    static final int KEY_UP = 2;
+    static final int MOUSE_MOVE = 3;
+    static final int MOUSE_DOWN = 4;
+    static final int MOUSE_UP = 5;
+
+    private final long[] events;
+    private final int mask;
+    private final int reserve;                        // nur für Releases freigehaltene Plätze
+    private final AtomicLong head = new AtomicLong(); // nächster Lese-Index (nur Consumer schreibt)
+    private final AtomicLong tail = new AtomicLong(); // nächster Schreib-Index (nur Producer schreibt)
+    private long cachedHead = 0;                      // Producer-lokale Kopie von head
+    private volatile long dropped = 0;
+    private final AtomicLong pendingMove = new AtomicLong();     // zusammengefasste Mausbewegung, 0 = keine
+    private final AtomicLong lostRelease = new AtomicLong(-1);   // Ring-Index eines verlorenen Releases, -1 = keiner
+
+    /** @param capacity wird auf die nächste Zweierpotenz aufgerundet */
+    public InputQueue(int capacity) {
+        int c = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.events = new long[c];
+        this.mask = c - 1;
+        this.reserve = c / 4;
+    }
+
+    // --- Producer (AWT-Event-Thread) ---
+
+    boolean offer(int type, int code, int x, int y) {
+        long event = pack(type, code, x, y);
+        long t = tail.get();
+        if (type == KEY_UP || type == MOUSE_UP) {
+            if (!hasRoom(t, 0)) {
+                dropped++; // nur der Producer schreibt
+                lostRelease.set(t);
+                return false;
+            }
+        } else if (!hasRoom(t, reserve)) {
+            if (type == MOUSE_MOVE) {
+                pendingMove.set(event); // Position ist Zustand: nur die neueste zählt
+                return true;
+            }
+            dropped++;
+            return false;
+        }
+        // Maus-Events tragen die neueste Position, eine ältere zusammengefasste Bewegung ist damit überholt
+        if (type != KEY_DOWN && type != KEY_UP) pendingMove.set(0);
+        events[(int) t & mask] = event;
+        tail.lazySet(t + 1); // Release: Event ist sichtbar, bevor der Index es ist
+        return true;
+    }
+
+    /** Ob nach dem Schreiben noch {@code keepFree} Plätze frei blieben; liest head nur bei Bedarf neu. */
+    private boolean hasRoom(long t, int keepFree) {
+        if (t - cachedHead + keepFree < events.length) return true;
+        cachedHead = head.get();
+        return t - cachedHead + keepFree < events.length;
+    }
+
+    // --- Consumer (Game-Loop) ---
+
+    /** Wendet alle seit dem letzten Aufruf eingetroffenen Events in Reihenfolge auf {@code target} an. */
+    int drainTo(Input target) {
+        long h = head.get();
+        long t = tail.get();
+        long lost = lostRelease.get();
+        for (long i = h; i < t; i++) {
+            if (i == lost) target.releaseAll();
+            long e = events[(int) i & mask];
+            target.apply(type(e), code(e), x(e), y(e));
+        }
+        head.lazySet(t);
+        if (lost == t) target.releaseAll();
+        if (lost >= 0 && lost <= t) lostRelease.compareAndSet(lost, -1);
+
+        // Zusammengefasste Bewegung nur übernehmen, wenn kein älteres Event mehr im Ring steht
+        long move = pendingMove.get();
+        if (move != 0 && tail.get() == t && pendingMove.compareAndSet(move, 0)) {
+            target.apply(MOUSE_MOVE, 0, x(move), y(move));
+            return (int) (t - h) + 1;
+        }
+        return (int) (t - h);
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    // Layout: type 4 Bit | code 16 Bit | x 20 Bit | y 20 Bit (x/y vorzeichenbehaftet)
+    static long pack(int type, int code, int x, int y) {
+        return ((long) (type & 0xF) << 56)
+                | ((long) (code & 0xFFFF) << 40)
+                | ((long) (x & 0xFFFFF) << 20)
+                | (y & 0xFFFFFL);
+    }
+
+    static int type(long e) { return (int) (e >>> 56) & 0xF; }
+    static int code(long e) { return (int) (e >>> 40) & 0xFFFF; }
+    static int x(long e) { return (int) ((e >>> 20) << 44 >> 44); }
+    static int y(long e) { return (int) (e << 44 >> 44); }
+
+    // --- AWT-Listener ---
+
+    @Override public void keyTyped(KeyEvent e) { }
+    @Override public void keyPressed(KeyEvent e) { offer(KEY_DOWN, e.getKeyCode(), 0, 0); }
+    @Override public void keyReleased(KeyEvent e) { offer(KEY_UP, e.getKeyCode(), 0, 0); }
+
+    @Override public void mouseClicked(MouseEvent e) { }
+    @Override public void mousePressed(MouseEvent e) { offer(MOUSE_DOWN, e.getButton(), e.getX(), e.getY()); }
+    @Override public void mouseReleased(MouseEvent e) { offer(MOUSE_UP, e.getButton(), e.getX(), e.getY()); }
+    @Override public void mouseEntered(MouseEvent e) { }
+    @Override public void mouseExited(MouseEvent e) { }
+    @Override public void mouseDragged(MouseEvent e) { mouseMoved(e); }
+    @Override public void mouseMoved(MouseEvent e) { offer(MOUSE_MOVE, 0, e.getX(), e.getY()); }
+}
@@ -6,11 +6,15 @@ import de.felixstaude.roguelike.stats.Stat;
 import java.util.ArrayList;
 import java.util.List;
 
-/** Vordefinierte passive Items für den Shop. */
+/** Vordefinierte passive Items für den Shop (unveränderlich, threadübergreifend teilbar). */
 public final class PassiveItemCatalog {
     private PassiveItemCatalog(){}
 
-    public static List<Item> all() {
+    private static final List<Item> ALL = build();
+
+    public static List<Item> all() { return ALL; }
+
+    private static List<Item> build() {
         List<Item> list = new ArrayList<>();
 
         // Unique: Glass Cannon (ohne MaxHP-Down, nur Armor-Down wie gewünscht)
@@ -73,6 +77,6 @@ public final class PassiveItemCatalog {
                 new Mod(Stat.CRIT_DAMAGE_PCT, 15)
         )));
 
-        return list;
+        return List.copyOf(list);
     }
 }
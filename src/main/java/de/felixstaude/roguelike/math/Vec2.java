@@ -11,6 +11,8 @@ public class Vec2 {
     public double len(){ return Math.sqrt(x*x + y*y); }
     public double dot(Vec2 o){ return x*o.x + y*o.y; }
     public double angle(){ return Math.atan2(y, x); }
+    /** Setzt auf (x, y) mit Länge 1, bzw. (0, 0) – ohne Allokation. */
+    public void setNormalized(double x,double y){ double l=Math.sqrt(x*x + y*y); if (l>1e-9) set(x/l, y/l); else set(0,0); }
     public Vec2 normalized(){ double l=len(); return l>1e-9? new Vec2(x/l, y/l): new Vec2(0,0); }
 
     public static Vec2 rotate(Vec2 v, double rad){
@@ -0,0 +1,277 @@
+package de.felixstaude.roguelike.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Heap bytes allocated by the game loop thread, split per tick section and per frame, plus GC activity.
+ *
+ * <p>Reads {@code com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} at section boundaries
+ * and the {@link GarbageCollectorMXBean} counters once per frame; none of this allocates. A frame is
+ * flagged when a collection finished since the previous frame, i.e. when a GC pause fell into the
+ * interval that frame had to cover. Must be driven from a single thread, the one doing the ticks.
+ *
+ * <p>Disabled trackers cost one branch per call; on JVMs without allocation counters it stays disabled.
+ */
+public final class AllocationTracker {
+    /** Parts of a tick that are measured separately. */
+    public enum Section {
+        INPUT("input"), PLAYER("player"), WAVES("waves/spawn"), FLOW_FIELD("flow field"), ENEMIES("enemies"),
+        BULLETS("grid/bullets"), PARTICLES("particles"), DAMAGE("damage"), CLEANUP("cleanup"), SHOP("shop"),
+        OTHER("other");
+
+        public final String label;
+
+        Section(String label) {
+            this.label = label;
+        }
+    }
+
+    /** Frames kept for the rolling graph. */
+    public static final int HISTORY = 120;
+    /** Ticks per averaging window (about one second at standard tick rate). */
+    private static final int WINDOW_TICKS = 60;
+    private static final Section[] SECTIONS = Section.values();
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+    private static final GarbageCollectorMXBean[] COLLECTORS =
+            ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+
+    private boolean enabled;
+
+    // Current tick
+    private long tickStart;
+    private long mark;
+
+    // Averaging window
+    private final long[] windowSection = new long[SECTIONS.length];
+    private long windowTickBytes;
+    private int windowTicks;
+    private final double[] sectionPerTick = new double[SECTIONS.length];
+    private final long[] sectionTotal = new long[SECTIONS.length];
+    private double bytesPerTick;
+    private long lastTickBytes;
+
+    // Frames
+    private long pendingTickBytes;
+    private long renderStart;
+    private long lastRenderBytes;
+    private final long[] frameBytes = new long[HISTORY];
+    private final boolean[] frameGc = new boolean[HISTORY];
+    private int head;
+    private int frames;
+
+    // GC
+    private long gcCount = -1;
+    private long gcMillis;
+    private long lastGcMillis;
+    private int gcFrames;
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean ext)) return null;
+        try {
+            if (!ext.isThreadAllocatedMemorySupported()) return null;
+            if (!ext.isThreadAllocatedMemoryEnabled()) ext.setThreadAllocatedMemoryEnabled(true);
+            return ext;
+        } catch (UnsupportedOperationException | SecurityException ex) {
+            return null;
+        }
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Starts or stops measuring; the averages start over when re-enabled. */
+    public void setEnabled(boolean enabled) {
+        enabled &= isSupported();
+        if (enabled && !this.enabled) reset();
+        this.enabled = enabled;
+    }
+
+    private void reset() {
+        Arrays.fill(windowSection, 0L);
+        Arrays.fill(sectionPerTick, 0.0);
+        Arrays.fill(sectionTotal, 0L);
+        Arrays.fill(frameBytes, 0L);
+        Arrays.fill(frameGc, false);
+        windowTickBytes = 0;
+        windowTicks = 0;
+        bytesPerTick = 0.0;
+        lastTickBytes = 0;
+        pendingTickBytes = 0;
+        lastRenderBytes = 0;
+        head = 0;
+        frames = 0;
+        gcCount = -1;
+        gcFrames = 0;
+    }
+
+    private static long allocated() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    public void beginTick() {
+        if (!enabled) return;
+        tickStart = allocated();
+        mark = tickStart;
+    }
+
+    /** Attributes everything allocated since the previous mark (or tick start) to {@code section}. */
+    public void mark(Section section) {
+        if (!enabled) return;
+        long now = allocated();
+        windowSection[section.ordinal()] += now - mark;
+        sectionTotal[section.ordinal()] += now - mark;
+        mark = now;
+    }
+
+    /** Ends the tick; the remainder since the last mark counts as {@link Section#OTHER}. */
+    public void endTick() {
+        if (!enabled) return;
+        long now = allocated();
+        windowSection[Section.OTHER.ordinal()] += now - mark;
+        sectionTotal[Section.OTHER.ordinal()] += now - mark;
+        lastTickBytes = now - tickStart;
+        pendingTickBytes += lastTickBytes;
+        windowTickBytes += lastTickBytes;
+        if (++windowTicks >= WINDOW_TICKS) {
+            for (int i = 0; i < SECTIONS.length; i++) {
+                sectionPerTick[i] = windowSection[i] / (double) windowTicks;
+                windowSection[i] = 0;
+            }
+            bytesPerTick = windowTickBytes / (double) windowTicks;
+            windowTickBytes = 0;
+            windowTicks = 0;
+        }
+    }
+
+    public void beginFrame() {
+        if (!enabled) return;
+        renderStart = allocated();
+    }
+
+    /** Records the frame: its render allocations plus those of the ticks run since the previous frame. */
+    public void endFrame() {
+        if (!enabled) return;
+        lastRenderBytes = allocated() - renderStart;
+
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        boolean gcHit = gcCount >= 0 && count != gcCount;
+        if (gcHit) {
+            lastGcMillis = millis - gcMillis;
+            gcFrames++;
+        }
+        gcCount = count;
+        gcMillis = millis;
+
+        frameBytes[head] = pendingTickBytes + lastRenderBytes;
+        frameGc[head] = gcHit;
+        head = (head + 1) % HISTORY;
+        if (frames < HISTORY) frames++;
+        pendingTickBytes = 0;
+    }
+
+    /** Average bytes per tick over the last complete window. */
+    public double bytesPerTick() {
+        return bytesPerTick;
+    }
+
+    public long lastTickBytes() {
+        return lastTickBytes;
+    }
+
+    /** Bytes allocated while rendering the last frame (ticks excluded). */
+    public long lastRenderBytes() {
+        return lastRenderBytes;
+    }
+
+    public double bytesPerTick(Section section) {
+        return sectionPerTick[section.ordinal()];
+    }
+
+    /** Bytes attributed to {@code section} since the tracker was enabled; catches rare, large allocations. */
+    public long totalBytes(Section section) {
+        return sectionTotal[section.ordinal()];
+    }
+
+    /**
+     * Fills {@code out} with up to {@code out.length} sections that allocate, highest rate first
+     * (insertion into the caller's array, no allocation).
+     *
+     * @return the number of sections written
+     */
+    public int topSections(Section[] out) {
+        int n = 0;
+        for (Section s : SECTIONS) {
+            double rate = sectionPerTick[s.ordinal()];
+            if (rate <= 0.0) continue;
+            int i = Math.min(n, out.length - 1);
+            if (i < 0 || (n == out.length && rate <= sectionPerTick[out[i].ordinal()])) continue;
+            while (i > 0 && sectionPerTick[out[i - 1].ordinal()] < rate) {
+                out[i] = out[i - 1];
+                i--;
+            }
+            out[i] = s;
+            if (n < out.length) n++;
+        }
+        return n;
+    }
+
+    /** Frames in the graph, oldest first via {@link #frameBytes(int)}. */
+    public int frameCount() {
+        return frames;
+    }
+
+    /** Bytes of the i-th stored frame, 0 = oldest. */
+    public long frameBytes(int i) {
+        return frameBytes[index(i)];
+    }
+
+    /** Whether a GC finished during the i-th stored frame, 0 = oldest. */
+    public boolean frameHadGc(int i) {
+        return frameGc[index(i)];
+    }
+
+    private int index(int i) {
+        return (head - frames + i + HISTORY) % HISTORY;
+    }
+
+    public long gcCount() {
+        return Math.max(0, gcCount);
+    }
+
+    public long gcMillis() {
+        return gcMillis;
+    }
+
+    /** Collection time accumulated by the last frame that saw a GC. */
+    public long lastGcMillis() {
+        return lastGcMillis;
+    }
+
+    /** Frames flagged since enabling. */
+    public int gcFrames() {
+        return gcFrames;
+    }
+
+    /** Compact byte count: {@code 512 B}, {@code 3.4 KB}, {@code 1.2 MB}. */
+    public static String formatBytes(double bytes) {
+        if (bytes < 1024) return String.format(Locale.ROOT, "%.0f B", bytes);
+        if (bytes < 1024 * 1024) return String.format(Locale.ROOT, "%.1f KB", bytes / 1024);
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024 * 1024));
+    }
+}
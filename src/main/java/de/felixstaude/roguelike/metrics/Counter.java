@@ -0,0 +1,30 @@
+package de.felixstaude.roguelike.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonic counter. {@link #inc()}/{@link #add(long)} are safe from any thread and do not allocate. */
+public final class Counter extends Metric {
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name, String help) {
+        super(name, help);
+    }
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        if (amount > 0) value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    void write(StringBuilder out) {
+        header(out, "counter");
+        out.append(name).append(' ').append(value.sum()).append('\n');
+    }
+}
@@ -0,0 +1,26 @@
+package de.felixstaude.roguelike.metrics;
+
+/** Last written value, e.g. current entity counts. */
+public final class Gauge extends Metric {
+    private volatile double value;
+
+    Gauge(String name, String help) {
+        super(name, help);
+    }
+
+    public void set(double value) {
+        this.value = value;
+    }
+
+    public double get() {
+        return value;
+    }
+
+    @Override
+    void write(StringBuilder out) {
+        header(out, "gauge");
+        out.append(name).append(' ');
+        appendNumber(out, value);
+        out.append('\n');
+    }
+}
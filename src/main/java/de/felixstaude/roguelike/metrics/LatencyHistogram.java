@@ -0,0 +1,91 @@
+package de.felixstaude.roguelike.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear duration histogram in the style of HdrHistogram: every power of two is split into 64 linear
+ * sub-buckets, so any recorded value is reproduced within 1/64 (about 1.6 %) from 1 us up to half an hour.
+ * Recording is an index computation and one array increment; no allocation, no locking
+ * (single writer). The exact maximum is kept separately.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;   // 128 linear values below the first split
+    private static final int HALF = SUB_BUCKETS / 2;               // 64 sub-buckets per power of two
+    private static final long MAX_MICROS = (1L << 31) - 1;
+    private static final int BUCKETS = index(MAX_MICROS) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sumNanos;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[index(Math.min(MAX_MICROS, nanos / 1000))]++;
+        count++;
+        sumNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    private static int index(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF + (int) (micros >>> shift);
+    }
+
+    /** Highest value (in micros) that falls into bucket {@code i}. */
+    private static long highestMicros(int i) {
+        if (i < SUB_BUCKETS) return i;
+        int shift = i / HALF - 1;
+        long sub = i - (long) shift * HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    public double meanNanos() {
+        return count == 0 ? 0.0 : sumNanos / (double) count;
+    }
+
+    /**
+     * Smallest recorded value such that {@code percentile} percent of all values are at or below it,
+     * e.g. {@code 99.9}. Reported as the upper edge of its bucket, capped at the exact maximum.
+     */
+    public long percentileNanos(double percentile) {
+        if (count == 0) return 0L;
+        long target = Math.max(1L, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(maxNanos, highestMicros(i) * 1000 + 999);
+        }
+        return maxNanos;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0;
+        sumNanos = 0;
+        maxNanos = 0;
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        count += other.count;
+        sumNanos += other.sumNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+}
@@ -0,0 +1,30 @@
+package de.felixstaude.roguelike.metrics;
+
+/** Common part of all metric types: name, help text and Prometheus text output. */
+public abstract class Metric {
+    final String name;
+    final String help;
+
+    Metric(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    abstract void write(StringBuilder out);
+
+    void header(StringBuilder out, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    static void appendNumber(StringBuilder out, double v) {
+        if (Double.isNaN(v)) out.append("NaN");
+        else if (Double.isInfinite(v)) out.append(v > 0 ? "+Inf" : "-Inf");
+        else if (v == Math.rint(v) && Math.abs(v) < 1e15) out.append((long) v);
+        else out.append(v);
+    }
+}
@@ -0,0 +1,72 @@
+package de.felixstaude.roguelike.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide metrics registry. Metrics are registered once (typically as {@code static final} fields)
+ * and then only updated, which never allocates; text is produced only when scraped.
+ * Headless simulations running several engines in parallel add up into the same counters and timers;
+ * gauges hold a single current value and are only written by the windowed game.
+ */
+public final class Metrics {
+    private Metrics() {
+    }
+
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final List<Metric> METRICS = new ArrayList<>();
+
+    // --- Game metrics, shared by the systems that record them ---
+    public static final Counter TICKS = counter("roguelike_ticks_total", "Simulation ticks executed");
+    public static final Timer TICK_TIME = timer("roguelike_tick_seconds", "Wall time per simulation tick");
+    public static final Counter FRAMES = counter("roguelike_frames_total", "Frames presented");
+    public static final Timer FRAME_TIME = timer("roguelike_frame_seconds", "Render time per frame");
+    public static final Gauge FPS = gauge("roguelike_fps", "Frames per second over the last second");
+    public static final Gauge UPS = gauge("roguelike_ups", "Updates per second over the last second");
+    public static final Gauge WAVE = gauge("roguelike_wave", "Current wave");
+    public static final Gauge ENEMIES = gauge("roguelike_enemies", "Live enemies");
+    public static final Gauge BULLETS = gauge("roguelike_bullets", "Live bullets");
+    public static final Gauge PARTICLES = gauge("roguelike_particles", "Live particles");
+    public static final Counter HITS = counter("roguelike_hits_total", "Bullet hits on enemies");
+    public static final Counter KILLS = counter("roguelike_kills_total", "Enemies killed");
+    public static final Counter PLAYER_HITS = counter("roguelike_player_hits_total", "Contact hits taken by the player");
+    public static final Counter SPAWNS = counter("roguelike_enemies_spawned_total", "Enemies spawned");
+    public static final Counter PURCHASES = counter("roguelike_shop_purchases_total", "Shop purchases");
+    public static final Counter REROLLS = counter("roguelike_shop_rerolls_total", "Shop rerolls");
+    public static final Counter GOLD_SPENT = counter("roguelike_shop_gold_spent_total", "Gold spent on purchases and rerolls");
+
+    public static synchronized Counter counter(String name, String help) {
+        return register(new Counter(name, help));
+    }
+
+    public static synchronized Gauge gauge(String name, String help) {
+        return register(new Gauge(name, help));
+    }
+
+    public static synchronized Timer timer(String name, String help) {
+        return timer(name, help, Timer.FRAME_BUCKETS_NANOS);
+    }
+
+    public static synchronized Timer timer(String name, String help, long[] boundsNanos) {
+        return register(new Timer(name, help, boundsNanos));
+    }
+
+    private static <M extends Metric> M register(M metric) {
+        if (!NAME.matcher(metric.name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + metric.name);
+        }
+        for (Metric m : METRICS) {
+            if (m.name.equals(metric.name)) throw new IllegalArgumentException("Duplicate metric: " + metric.name);
+        }
+        METRICS.add(metric);
+        return metric;
+    }
+
+    /** All metrics in Prometheus text exposition format (version 0.0.4). */
+    public static synchronized String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Metric m : METRICS) m.write(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package de.felixstaude.roguelike.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Optional HTTP endpoint serving {@link Metrics#scrape()} at {@code /metrics}.
+ * Binds to loopback unless a host is given ({@code --metrics-host=0.0.0.0} for remote scraping).
+ */
+public final class MetricsServer {
+    /** Loopback: the endpoint is unauthenticated, exposing it to the network must be an explicit choice. */
+    public static final String DEFAULT_HOST = "127.0.0.1";
+
+    private final HttpServer server;
+
+    private MetricsServer(HttpServer server) {
+        this.server = server;
+    }
+
+    public static MetricsServer start(String host, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/metrics", MetricsServer::handle);
+        server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "MetricsServer");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.start();
+        return new MetricsServer(server);
+    }
+
+    /** Starts the server if {@code --metrics-port=N} is given; returns null otherwise. */
+    public static MetricsServer startFromArgs(String[] args) throws IOException {
+        String host = DEFAULT_HOST;
+        int port = -1;
+        for (String arg : args) {
+            if (arg.startsWith("--metrics-port=")) port = Integer.parseInt(arg.substring("--metrics-port=".length()).trim());
+            if (arg.startsWith("--metrics-host=")) host = arg.substring("--metrics-host=".length()).trim();
+        }
+        return port >= 0 ? start(host, port) : null;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = Metrics.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package de.felixstaude.roguelike.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Duration histogram with fixed bucket bounds, exported as a Prometheus histogram in seconds.
+ * {@link #record(long)} is a short linear scan plus two adds; no allocation.
+ */
+public final class Timer extends Metric {
+    /** Default bounds for per-tick and per-frame work: 50 us .. 100 ms. */
+    public static final long[] FRAME_BUCKETS_NANOS = {
+            50_000L, 100_000L, 250_000L, 500_000L, 1_000_000L, 2_000_000L, 4_000_000L,
+            8_000_000L, 16_000_000L, 33_000_000L, 50_000_000L, 100_000_000L
+    };
+
+    private final long[] bounds;
+    private final LongAdder[] buckets; // non-cumulative; last one is +Inf
+    private final LongAdder sumNanos = new LongAdder();
+
+    Timer(String name, String help, long[] boundsNanos) {
+        super(name, help);
+        this.bounds = boundsNanos.clone();
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        int i = 0;
+        while (i < bounds.length && nanos > bounds[i]) i++;
+        buckets[i].increment();
+        sumNanos.add(nanos);
+    }
+
+    public long count() {
+        long n = 0;
+        for (LongAdder b : buckets) n += b.sum();
+        return n;
+    }
+
+    @Override
+    void write(StringBuilder out) {
+        header(out, "histogram");
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{le=\"");
+            if (i < bounds.length) appendNumber(out, bounds[i] / 1e9);
+            else out.append("+Inf");
+            out.append("\"} ").append(cumulative).append('\n');
+        }
+        out.append(name).append("_sum ");
+        appendNumber(out, sumNanos.sum() / 1e9);
+        out.append('\n');
+        out.append(name).append("_count ").append(cumulative).append('\n');
+    }
+}
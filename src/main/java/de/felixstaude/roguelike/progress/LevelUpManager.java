@@ -3,9 +3,8 @@ package de.felixstaude.roguelike.progress;
 
 import de.felixstaude.roguelike.stats.Stat;
 import de.felixstaude.roguelike.stats.Stats;
+import de.felixstaude.roguelike.util.AliasTable;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -94,46 +93,53 @@ public class LevelUpManager {
 
     // ------------------------------------------------------------------------
 
+    // Gewichte (können wir später tunen). Luck verschiebt gute Stats nach oben, „dead“ Stats niedriger.
+    private static final Entry[] BAG = {
+            entry(Stat.MAX_HP,           14, 8, 14,   a -> "+"+a+" Max HP"),
+            entry(Stat.ARMOR_PCT,        10, 2, 4,    a -> "+"+a+"% Armor"),
+            entry(Stat.DODGE_PCT,        8,  1, 3,    a -> "+"+a+"% Dodge"),
+            entry(Stat.HP_REGEN_PS,      6,  1, 2,    a -> "+"+a+" HP/s"),
+
+            entry(Stat.DAMAGE_PCT,       12, 3, 6,    a -> "+"+a+"% Damage"),
+            entry(Stat.RANGED_PCT,       10, 3, 6,    a -> "+"+a+"% Ranged Damage"),
+            entry(Stat.MELEE_PCT,        4,  3, 5,    a -> "+"+a+"% Melee Damage"),
+            entry(Stat.MAGIC_PCT,        4,  3, 5,    a -> "+"+a+"% Magic Damage"),
+
+            entry(Stat.CRIT_CHANCE_PCT,  7,  3, 6,    a -> "+"+a+"% Crit Chance"),
+            entry(Stat.CRIT_DAMAGE_PCT,  7,  10, 20,  a -> "+"+a+"% Crit Damage"),
+
+            entry(Stat.ATTACK_SPEED_PCT, 10, 4, 7,    a -> "+"+a+"% Attack Speed"),
+            entry(Stat.RANGE_PX,         8,  8, 14,   a -> "+"+(a*6)+" Range"), // 1P ~ 6px
+            entry(Stat.MOVE_SPEED_PCT,   7,  3, 5,    a -> "+"+a+"% Move Speed"),
+            entry(Stat.LIFESTEAL_PCT,    5,  1, 2,    a -> "+"+a+"% Lifesteal"),
+    };
+
+    // Alias-Tabelle für den zuletzt genutzten Luck-Wert (Gewichte ändern sich nur mit Luck)
+    private AliasTable table;
+    private int tableLuck;
+
     private StatRoll rollStat(int luck) {
-        // Gewichte (können wir später tunen). Luck verschiebt gute Stats nach oben, „dead“ Stats niedriger.
-        List<Entry> bag = new ArrayList<>();
-        add(bag, Stat.MAX_HP,           14, () -> rollInt(8, 14),    a -> "+"+a+" Max HP");
-        add(bag, Stat.ARMOR_PCT,        10, () -> rollInt(2, 4),     a -> "+"+a+"% Armor");
-        add(bag, Stat.DODGE_PCT,        8,  () -> rollInt(1, 3),     a -> "+"+a+"% Dodge");
-        add(bag, Stat.HP_REGEN_PS,      6,  () -> rollInt(1, 2),     a -> "+"+a+" HP/s");
-
-        add(bag, Stat.DAMAGE_PCT,       12, () -> rollInt(3, 6),     a -> "+"+a+"% Damage");
-        add(bag, Stat.RANGED_PCT,       10, () -> rollInt(3, 6),     a -> "+"+a+"% Ranged Damage");
-        add(bag, Stat.MELEE_PCT,        4,  () -> rollInt(3, 5),     a -> "+"+a+"% Melee Damage");
-        add(bag, Stat.MAGIC_PCT,        4,  () -> rollInt(3, 5),     a -> "+"+a+"% Magic Damage");
-
-        add(bag, Stat.CRIT_CHANCE_PCT,  7,  () -> rollInt(3, 6),     a -> "+"+a+"% Crit Chance");
-        add(bag, Stat.CRIT_DAMAGE_PCT,  7,  () -> rollInt(10, 20),   a -> "+"+a+"% Crit Damage");
-
-        add(bag, Stat.ATTACK_SPEED_PCT, 10, () -> rollInt(4, 7),     a -> "+"+a+"% Attack Speed");
-        add(bag, Stat.RANGE_PX,         8,  () -> rollInt(8, 14),    a -> "+"+(a*6)+" Range"); // 1P ~ 6px
-        add(bag, Stat.MOVE_SPEED_PCT,   7,  () -> rollInt(3, 5),     a -> "+"+a+"% Move Speed");
-        add(bag, Stat.LIFESTEAL_PCT,    5,  () -> rollInt(1, 2),     a -> "+"+a+"% Lifesteal");
+        if (table == null || tableLuck != luck) {
+            table = AliasTable.of(weightsFor(luck));
+            tableLuck = luck;
+        }
+        Entry e = BAG[table.sample(ThreadLocalRandom.current())];
+        int amount = rollInt(e.min, e.max);
+        return new StatRoll(e.stat, amount, e.labelMaker.make(amount));
+    }
 
+    private static int[] weightsFor(int luck) {
         // Luck-Einfluss
         double bias = clamp(1.0 + (luck * 0.005), 0.2, 3.0); // +0.5% Gewicht pro Luck
-        for (Entry e : bag) {
-            if (isGoodForRanged(e.stat)) e.weight = (int)Math.max(1, Math.round(e.weight * bias));
-            if (isLessRelevantEarly(e.stat)) e.weight = (int)Math.max(1, Math.round(e.weight * clamp(1.0 + (luck * 0.0025), 0.33, 1.5)));
+        int[] weights = new int[BAG.length];
+        for (int i = 0; i < BAG.length; i++) {
+            Entry e = BAG[i];
+            int weight = e.weight;
+            if (isGoodForRanged(e.stat)) weight = (int)Math.max(1, Math.round(weight * bias));
+            if (isLessRelevantEarly(e.stat)) weight = (int)Math.max(1, Math.round(weight * clamp(1.0 + (luck * 0.0025), 0.33, 1.5)));
+            weights[i] = weight;
         }
-
-        int total = bag.stream().mapToInt(en -> en.weight).sum();
-        int pick = ThreadLocalRandom.current().nextInt(total);
-        for (Entry e : bag) {
-            if ((pick -= e.weight) < 0) {
-                int amount = e.amountSupplier.get();
-                return new StatRoll(e.stat, amount, e.labelMaker.make(amount));
-            }
-        }
-        // Fallback
-        Entry e = bag.get(0);
-        int amount = e.amountSupplier.get();
-        return new StatRoll(e.stat, amount, e.labelMaker.make(amount));
+        return weights;
     }
 
     // Helpers
@@ -158,16 +164,14 @@ public class LevelUpManager {
     // Small internal entry
     private static final class Entry {
         final Stat stat;
-        int weight;
-        final IntSupplier amountSupplier;
+        final int weight;
+        final int min, max; // Amount-Roll inklusiv
         final LabelMaker labelMaker;
-        Entry(Stat stat, int weight, IntSupplier sup, LabelMaker lab){ this.stat=stat; this.weight=weight; this.amountSupplier=sup; this.labelMaker=lab; }
+        Entry(Stat stat, int weight, int min, int max, LabelMaker lab){ this.stat=stat; this.weight=weight; this.min=min; this.max=max; this.labelMaker=lab; }
     }
-    @FunctionalInterface private interface IntSupplier { int get(); }
     @FunctionalInterface private interface LabelMaker { String make(int amount); }
 
-    // <<< FEHLENDER HELFER (jetzt vorhanden)
-    private static void add(List<Entry> bag, Stat stat, int weight, IntSupplier amountSupplier, LabelMaker labelMaker) {
-        bag.add(new Entry(stat, Math.max(1, weight), amountSupplier, labelMaker));
+    private static Entry entry(Stat stat, int weight, int min, int max, LabelMaker labelMaker) {
+        return new Entry(stat, Math.max(1, weight), min, max, labelMaker);
     }
 }
@@ -0,0 +1,129 @@
+package de.felixstaude.roguelike.render;
+
+import java.util.Arrays;
+
+/**
+ * Minimal scanline rasteriser over a packed {@code int[]} RGB framebuffer.
+ * All primitives take screen-space coordinates and are clipped to this raster's clip rectangle,
+ * so several rasters can share one pixel array and draw disjoint regions.
+ */
+public final class Raster {
+    private final int[] pixels;
+    private final int stride;
+    private final int clipX0, clipY0, clipX1, clipY1; // x1/y1 exclusive
+
+    public Raster(int[] pixels, int stride, int clipX0, int clipY0, int clipX1, int clipY1) {
+        this.pixels = pixels;
+        this.stride = stride;
+        this.clipX0 = clipX0;
+        this.clipY0 = clipY0;
+        this.clipX1 = clipX1;
+        this.clipY1 = clipY1;
+    }
+
+    public int clipY0() { return clipY0; }
+    public int clipY1() { return clipY1; }
+
+    public void clear(int rgb) {
+        for (int y = clipY0; y < clipY1; y++) {
+            Arrays.fill(pixels, y * stride + clipX0, y * stride + clipX1, rgb);
+        }
+    }
+
+    /** Fills pixels whose centres lie in [x0, x1) x [y0, y1). */
+    public void fillRect(double x0, double y0, double x1, double y1, int rgb) {
+        int ix0 = Math.max(clipX0, (int) Math.ceil(x0 - 0.5));
+        int ix1 = Math.min(clipX1, (int) Math.ceil(x1 - 0.5));
+        int iy0 = Math.max(clipY0, (int) Math.ceil(y0 - 0.5));
+        int iy1 = Math.min(clipY1, (int) Math.ceil(y1 - 0.5));
+        if (ix0 >= ix1) return;
+        for (int y = iy0; y < iy1; y++) {
+            Arrays.fill(pixels, y * stride + ix0, y * stride + ix1, rgb);
+        }
+    }
+
+    public void blendRect(double x0, double y0, double x1, double y1, int rgb, int alpha) {
+        if (alpha <= 0) return;
+        if (alpha >= 255) { fillRect(x0, y0, x1, y1, rgb); return; }
+        int ix0 = Math.max(clipX0, (int) Math.ceil(x0 - 0.5));
+        int ix1 = Math.min(clipX1, (int) Math.ceil(x1 - 0.5));
+        int iy0 = Math.max(clipY0, (int) Math.ceil(y0 - 0.5));
+        int iy1 = Math.min(clipY1, (int) Math.ceil(y1 - 0.5));
+        for (int y = iy0; y < iy1; y++) {
+            blendSpan(y * stride + ix0, y * stride + ix1, rgb, alpha);
+        }
+    }
+
+    public void hLine(int y, int x0, int x1, int rgb) {
+        if (y < clipY0 || y >= clipY1) return;
+        int a = Math.max(clipX0, x0), b = Math.min(clipX1, x1);
+        if (a < b) Arrays.fill(pixels, y * stride + a, y * stride + b, rgb);
+    }
+
+    public void vLine(int x, int y0, int y1, int rgb) {
+        if (x < clipX0 || x >= clipX1) return;
+        int a = Math.max(clipY0, y0), b = Math.min(clipY1, y1);
+        for (int y = a; y < b; y++) pixels[y * stride + x] = rgb;
+    }
+
+    public void fillCircle(double cx, double cy, double r, int rgb) {
+        ring(cx, cy, r, -1, rgb, 255);
+    }
+
+    public void blendCircle(double cx, double cy, double r, int rgb, int alpha) {
+        ring(cx, cy, r, -1, rgb, alpha);
+    }
+
+    /**
+     * Fills pixels with {@code inner < distance <= outer} from the centre (a filled disc when inner < 0).
+     */
+    public void ring(double cx, double cy, double outer, double inner, int rgb, int alpha) {
+        if (alpha <= 0 || outer <= 0) return;
+        int y0 = Math.max(clipY0, (int) Math.ceil(cy - outer - 0.5));
+        int y1 = Math.min(clipY1 - 1, (int) Math.floor(cy + outer - 0.5));
+        double outer2 = outer * outer;
+        double inner2 = inner > 0 ? inner * inner : -1;
+        for (int y = y0; y <= y1; y++) {
+            double dy = y + 0.5 - cy;
+            double dy2 = dy * dy;
+            if (dy2 > outer2) continue;
+            double half = Math.sqrt(outer2 - dy2);
+            int xa = Math.max(clipX0, (int) Math.ceil(cx - half - 0.5));
+            int xb = Math.min(clipX1, (int) Math.floor(cx + half - 0.5) + 1);
+            if (xa >= xb) continue;
+            int row = y * stride;
+            if (dy2 < inner2) {
+                // Skip the inner disc: two partial spans left and right of it
+                double ih = Math.sqrt(inner2 - dy2);
+                int ia = Math.max(xa, (int) Math.ceil(cx - ih - 0.5));
+                int ib = Math.min(xb, (int) Math.floor(cx + ih - 0.5) + 1);
+                if (ia < ib) {
+                    span(row + xa, row + ia, rgb, alpha);
+                    span(row + ib, row + xb, rgb, alpha);
+                    continue;
+                }
+            }
+            span(row + xa, row + xb, rgb, alpha);
+        }
+    }
+
+    private void span(int from, int to, int rgb, int alpha) {
+        if (from >= to) return;
+        if (alpha >= 255) Arrays.fill(pixels, from, to, rgb);
+        else blendSpan(from, to, rgb, alpha);
+    }
+
+    private void blendSpan(int from, int to, int rgb, int alpha) {
+        int inv = 255 - alpha;
+        int sr = ((rgb >> 16) & 0xFF) * alpha;
+        int sg = ((rgb >> 8) & 0xFF) * alpha;
+        int sb = (rgb & 0xFF) * alpha;
+        for (int i = from; i < to; i++) {
+            int d = pixels[i];
+            int r = (sr + ((d >> 16) & 0xFF) * inv) / 255;
+            int g = (sg + ((d >> 8) & 0xFF) * inv) / 255;
+            int b = (sb + (d & 0xFF) * inv) / 255;
+            pixels[i] = (r << 16) | (g << 8) | b;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package de.felixstaude.roguelike.render;
+
+import de.felixstaude.roguelike.core.EngineArena;
+import de.felixstaude.roguelike.entity.Bullets;
+import de.felixstaude.roguelike.entity.Enemies;
+import de.felixstaude.roguelike.entity.Particles;
+import de.felixstaude.roguelike.entity.Player;
+import de.felixstaude.roguelike.util.Colors;
+import de.felixstaude.roguelike.util.RenderQuality;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Alternative world-layer backend: rasterises floor grid, enemies, particles, bullets and the player
+ * directly into an {@code int[]} framebuffer at viewport resolution and hands it to Java2D as one image.
+ * Avoids Java2D's per-shape overhead, which dominates on unaccelerated pipelines.
+ * On multi-core machines the framebuffer is split into horizontal bands rasterised concurrently; every
+ * entity store skips entities outside a band's rows, so each band only pays for what it draws.
+ * The band threads belong to the renderer and end with {@link #close()}.
+ */
+public final class SoftwareWorldRenderer implements AutoCloseable {
+    private static final int GRID_STEP = 32;
+    private static final int MIN_BAND_HEIGHT = 64;
+
+    private final int threads;
+    private final List<Band> bands = new ArrayList<>();
+    private ExecutorService pool;
+    private boolean closed;
+
+    private BufferedImage image;
+    private int[] pixels;
+    private int width = -1;
+    private int height = -1;
+
+    /** Uses one band per available core; a single band renders on the calling thread. */
+    public SoftwareWorldRenderer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SoftwareWorldRenderer(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public void render(Graphics2D g, Rectangle viewport, double scale,
+                       Enemies enemies, Particles particles, Bullets bullets, Player player,
+                       RenderQuality quality) {
+        ensureSize(viewport.width, viewport.height);
+        if (image == null) return;
+
+        boolean simplified = quality.simplifiedOutlines();
+        if (bands.size() <= 1 || closed) {
+            drawWorld(new Raster(pixels, width, 0, 0, width, height), scale, enemies, particles, bullets, player,
+                    simplified);
+        } else {
+            for (Band band : bands) band.set(scale, enemies, particles, bullets, player, simplified);
+            try {
+                for (Future<Void> f : workers().invokeAll(bands)) f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("World raster band failed", e.getCause());
+            } finally {
+                for (Band band : bands) band.set(0, null, null, null, null, false);
+            }
+        }
+        g.drawImage(image, viewport.x, viewport.y, null);
+    }
+
+    /**
+     * One horizontal stripe of the framebuffer. Bands share the pixel array but write disjoint rows,
+     * so they need no synchronisation; every primitive is clipped to the band.
+     */
+    private static final class Band implements Callable<Void> {
+        private final Raster raster;
+        private double scale;
+        private Enemies enemies;
+        private Particles particles;
+        private Bullets bullets;
+        private Player player;
+        private boolean simplified;
+
+        Band(Raster raster) {
+            this.raster = raster;
+        }
+
+        void set(double scale, Enemies enemies, Particles particles, Bullets bullets, Player player,
+                 boolean simplified) {
+            this.scale = scale;
+            this.enemies = enemies;
+            this.particles = particles;
+            this.bullets = bullets;
+            this.player = player;
+            this.simplified = simplified;
+        }
+
+        @Override
+        public Void call() {
+            drawWorld(raster, scale, enemies, particles, bullets, player, simplified);
+            return null;
+        }
+    }
+
+    private ExecutorService workers() {
+        if (pool == null) {
+            AtomicInteger n = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "WorldRaster-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return pool;
+    }
+
+    /** Stops the band threads; later frames are rasterised on the calling thread. */
+    @Override
+    public void close() {
+        closed = true;
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    static void drawWorld(Raster raster, double scale,
+                          Enemies enemies, Particles particles, Bullets bullets, Player player,
+                          boolean simplified) {
+        raster.clear(Colors.FLOOR.getRGB() & 0xFFFFFF);
+        drawGrid(raster, scale);
+        enemies.rasterize(raster, scale, simplified);
+        particles.rasterize(raster, scale);
+        bullets.rasterize(raster, scale);
+        player.rasterize(raster, scale);
+    }
+
+    private static void drawGrid(Raster raster, double scale) {
+        int rgb = Colors.FLOOR_GRID.getRGB() & 0xFFFFFF;
+        int w = (int) Math.round(EngineArena.ARENA_W * scale);
+        int h = (int) Math.round(EngineArena.ARENA_H * scale);
+        for (int x = 0; x <= EngineArena.ARENA_W; x += GRID_STEP) {
+            raster.vLine((int) (x * scale), 0, h, rgb);
+        }
+        for (int y = 0; y <= EngineArena.ARENA_H; y += GRID_STEP) {
+            raster.hLine((int) (y * scale), 0, w, rgb);
+        }
+    }
+
+    private void ensureSize(int w, int h) {
+        if (w == width && h == height) return;
+        width = w;
+        height = h;
+        if (w <= 0 || h <= 0) {
+            image = null;
+            pixels = null;
+            return;
+        }
+        image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        bands.clear();
+        int count = Math.max(1, Math.min(threads, h / MIN_BAND_HEIGHT));
+        for (int i = 0; i < count; i++) {
+            int y0 = h * i / count;
+            int y1 = h * (i + 1) / count;
+            bands.add(new Band(new Raster(pixels, w, 0, y0, w, y1)));
+        }
+    }
+}
@@ -2,10 +2,11 @@ package de.felixstaude.roguelike.shop;
 
 import de.felixstaude.roguelike.entity.Player;
 import de.felixstaude.roguelike.input.Input;
-import de.felixstaude.roguelike.items.Item;
-import de.felixstaude.roguelike.items.ItemRarity;
 import de.felixstaude.roguelike.items.Mod;
-import de.felixstaude.roguelike.items.PassiveItemCatalog;
+import de.felixstaude.roguelike.metrics.Metrics;
+import de.felixstaude.roguelike.shop.ShopEconomy.Offer;
+import de.felixstaude.roguelike.shop.ShopEconomy.OfferType;
+import de.felixstaude.roguelike.shop.ShopEconomy.PurchaseResult;
 import de.felixstaude.roguelike.stats.EffectiveStats;
 import de.felixstaude.roguelike.stats.Stat;
 import de.felixstaude.roguelike.stats.StatRules;
@@ -13,15 +14,15 @@ import de.felixstaude.roguelike.stats.Stats;
 import de.felixstaude.roguelike.util.Colors;
 import de.felixstaude.roguelike.util.Draw;
 import de.felixstaude.roguelike.util.Fonts;
+import de.felixstaude.roguelike.util.IconAtlas;
 import de.felixstaude.roguelike.util.ImageCache;
 import de.felixstaude.roguelike.util.Layout;
-import de.felixstaude.roguelike.weapons.WeaponCatalog;
-import de.felixstaude.roguelike.weapons.WeaponDef;
+import de.felixstaude.roguelike.util.RenderQuality;
 import de.felixstaude.roguelike.weapons.WeaponHotbar;
 import de.felixstaude.roguelike.weapons.WeaponInstance;
 import de.felixstaude.roguelike.weapons.WeaponTier;
-import de.felixstaude.roguelike.weapons.WeaponType;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.FontMetrics;
 import java.awt.GradientPaint;
@@ -32,92 +33,15 @@ import java.awt.event.KeyEvent;
 import java.awt.geom.Path2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Objects;
 
 /**
  * Shop UI mit Single-Row Layout, Lock-Persistenz (eine Rotation) und Stat-Preview.
  */
 public class Shop {
 
-    public enum OfferType { PASSIVE, WEAPON }
-
-    public static final class Offer {
-        public final String offerId;
-        public final OfferType type;
-        public final String title;
-        public final ItemRarity rarity;
-        public final int price;
-        public final List<Mod> mods;
-        public final Item item;                  // wenn PASSIVE
-        public final WeaponDef weaponDef;        // wenn WEAPON
-        public final WeaponTier tier;            // wenn WEAPON
-        public final String iconPath;            // optional, sonst aus id/type abgeleitet
-
-        private Offer(String offerId, OfferType type, String title, ItemRarity rarity, int price, List<Mod> mods,
-                      Item item, WeaponDef weaponDef, WeaponTier tier, String iconPath) {
-            this.offerId = offerId;
-            this.type = type;
-            this.title = title;
-            this.rarity = rarity;
-            this.price = price;
-            this.mods = List.copyOf(mods);
-            this.item = item;
-            this.weaponDef = weaponDef;
-            this.tier = tier;
-            this.iconPath = iconPath;
-        }
-
-        public static Offer passive(Item item) {
-            String icon = "/icons/items/" + item.id + ".png";
-            return new Offer(UUID.randomUUID().toString(), OfferType.PASSIVE, item.name, item.rarity, item.price,
-                    item.mods, item, null, null, icon);
-        }
-
-        public static Offer weapon(WeaponDef def, WeaponTier tier) {
-            String title = def.name + " [" + tier.name() + "]";
-            ItemRarity rarity = rarityFromTier(def, tier);
-            String icon = "/icons/weapons/" + def.type.name().toLowerCase(Locale.ROOT) + ".png";
-            return new Offer(UUID.randomUUID().toString(), OfferType.WEAPON, title, rarity, def.price(tier),
-                    def.mods(tier), null, def, tier, icon);
-        }
-
-        private static ItemRarity rarityFromTier(WeaponDef def, WeaponTier tier) {
-            return switch (tier) {
-                case COMMON -> def.rarityHint;
-                case UNCOMMON -> bump(def.rarityHint);
-                case RARE -> bump(bump(def.rarityHint));
-                case EPIC -> ItemRarity.EPIC;
-            };
-        }
-
-        private static ItemRarity bump(ItemRarity rarity) {
-            return switch (rarity) {
-                case COMMON -> ItemRarity.UNCOMMON;
-                case UNCOMMON -> ItemRarity.RARE;
-                case RARE, EPIC -> ItemRarity.EPIC;
-            };
-        }
-    }
-
-    public static final class PurchaseResult {
-        public final boolean success;
-        public final int goldSpent;
-        public final String message;
-
-        public PurchaseResult(boolean success, int goldSpent, String message) {
-            this.success = success;
-            this.goldSpent = goldSpent;
-            this.message = message;
-        }
-    }
-
     // --- Layout-Konstanten ---
     private static final int PANEL_PADDING = 24;
     private static final int PANEL_ARC = 24;
@@ -142,27 +66,19 @@ public class Shop {
     private static final int SELL_WIDTH = 60;
     private static final int SELL_HEIGHT = 32;
 
-    private static final String LOCK_TOOLTIP = "Lock für nächste Rotation";
-
-    // --- Datenquellen / Pools ---
-    private final List<Item> passivePool = PassiveItemCatalog.all();
-    private final Map<WeaponType, WeaponDef> weapons = new HashMap<>(WeaponCatalog.all());
+    private static final Color DIMMER = new Color(0, 0, 0, 200);
 
-    // --- Run- / Shop-States ---
-    private final Set<String> boughtUniques = new HashSet<>();
-    private final Set<String> lockedOfferIds = new HashSet<>();
-    private final List<Offer> carryLockedNextShop = new ArrayList<>();
+    private static final String LOCK_TOOLTIP = "Lock für nächste Rotation";
 
-    private int shopRerollDiscount = 0;
-    private int shopPriceDiscountPct = 0;
+    // --- Angebots-/Ökonomie-Logik (headless) ---
+    private final ShopEconomy economy = new ShopEconomy();
+    private final List<Offer> offers = economy.getOffers();
+    private final Stats passiveStats = economy.getPassiveStats();
+    private final WeaponHotbar hotbar = economy.getHotbar();
 
-    private final List<Offer> offers = new ArrayList<>();
     private final List<CardUI> cardUIs = new ArrayList<>();
     private final List<HotbarSlotUI> hotbarUIs = new ArrayList<>();
 
-    private final Stats passiveStats = new Stats();
-    private final WeaponHotbar hotbar = new WeaponHotbar();
-
     private EffectiveStats.Base baseStats = new EffectiveStats.Base();
 
     // --- Layout-Rechtecke ---
@@ -188,9 +104,24 @@ public class Shop {
     // --- Flags ---
     private boolean layoutDirty = true;
 
-    // --- ökonomische Regeln ---
-    private int rerollCost = 6;
-    private int rerollsThisPhase = 0;
+    // --- Icons (vorgepackt, erst beim ersten Zeichnen bzw. preloadIcons()) ---
+    private IconAtlas cardIcons;
+
+    // --- Gecachte Panel-Ebene und der Zustand, mit dem sie gezeichnet wurde ---
+    private BufferedImage panelLayer;
+    private Rectangle layerBounds = new Rectangle();
+    private int layoutVersion = 0;
+    private long cachedRevision = -1;
+    private int cachedLayout = -1;
+    private int cachedHover = -1;
+    private int cachedFocus = -1;
+    private int cachedGold = -1;
+    private int cachedWave = -1;
+    private String cachedMessage;
+    private Color cachedMessageColor;
+    private long cachedDecodes = -1;         // neue Icons fertig -> Platzhalter ersetzen
+    private RenderQuality.Tier cachedTier;
+    private long panelRedraws = 0;
 
     // --- UI Messages ---
     private String lastMessage = "";
@@ -217,20 +148,12 @@ public class Shop {
     /** Shop-Phase starten / neu befüllen (nach einer Wave). */
     public void prepareForWave(int wave, Player player) {
         updateBaseFromPlayer(player);
-        rerollCost = Math.max(2, 6 - shopRerollDiscount);
-        rerollsThisPhase = 0;
-
-        // Locks aus vorherigem Shop einmalig übernehmen
-        List<OfferSlot> preserved = new ArrayList<>();
-        for (int i = 0; i < carryLockedNextShop.size(); i++) {
-            preserved.add(new OfferSlot(i, carryLockedNextShop.get(i)));
-        }
-        carryLockedNextShop.clear();
-        rebuildOffers(0, 0, preserved);
+        economy.openPhase(0, 0);
 
         lastMessage = "";
         messageColor = Colors.TEXT_SECONDARY;
         markLayoutDirty();
+        sanitizeFocus();
     }
 
     /** Input im Shop behandeln. true = Start nächste Wave. */
@@ -238,7 +161,7 @@ public class Shop {
         ensureLayout();
         sanitizeFocus();
 
-        if (input.mousePressedL) {
+        if (input.mouseClickedL) {
             // SELL in Hotbar?
             if (trySellWeapon(input, player)) return false;
 
@@ -250,22 +173,13 @@ public class Shop {
 
             // Reroll?
             if (rerollBtn.contains(input.mouseX, input.mouseY)) {
-                int cost = getRerollCost();
-                if (player.gold >= cost) {
-                    player.gold -= cost;
-                    reroll(0, 0);
-                    lastMessage = "Shop rerolled (−" + cost + "G)";
-                    messageColor = Colors.TEXT_SECONDARY;
-                } else {
-                    lastMessage = "Nicht genug Gold für Reroll (" + cost + "G)";
-                    messageColor = Colors.DANGER;
-                }
+                attemptReroll(player);
                 return false;
             }
 
             // Next Wave?
             if (nextBtn.contains(input.mouseX, input.mouseY)) {
-                stashLockedForNextShop();
+                economy.stashLockedForNextShop();
                 return true;
             }
         }
@@ -281,22 +195,13 @@ public class Shop {
 
         // R = Reroll
         if (input.wasPressed(KeyEvent.VK_R)) {
-            int cost = getRerollCost();
-            if (player.gold >= cost) {
-                player.gold -= cost;
-                reroll(0, 0);
-                lastMessage = "Shop rerolled (−" + cost + "G)";
-                messageColor = Colors.TEXT_SECONDARY;
-            } else {
-                lastMessage = "Nicht genug Gold für Reroll (" + cost + "G)";
-                messageColor = Colors.DANGER;
-            }
+            attemptReroll(player);
             return false;
         }
 
         // SPACE = Start next wave
         if (input.wasPressed(KeyEvent.VK_SPACE)) {
-            stashLockedForNextShop();
+            economy.stashLockedForNextShop();
             return true;
         }
 
@@ -309,10 +214,92 @@ public class Shop {
         return false;
     }
 
-    /** Shop zeichnen. */
-    public void render(Graphics2D g, Player player, int wave) {
+    /**
+     * Preload-Phase: packt alle Icons aus Item- und Waffenkatalog in den Atlas (vorerst als Platzhalter)
+     * und stößt das Dekodieren im Hintergrund an, damit das erste Öffnen des Shops nicht hängt.
+     */
+    public void preloadIcons() {
+        cardIcons();
+    }
+
+    private IconAtlas cardIcons() {
+        if (cardIcons == null) {
+            cardIcons = IconAtlas.build(ShopEconomy.allIconPaths(), CARD_ICON_SIZE, CARD_ICON_RADIUS, Colors.PANEL_BORDER);
+        }
+        return cardIcons;
+    }
+
+    /** Abdunkelung über der eingefrorenen Spielwelt; Teil des von der Engine gecachten Hintergrunds. */
+    public static void drawDimmer(Graphics2D g, int width, int height) {
+        g.setColor(DIMMER);
+        g.fillRect(0, 0, width, height);
+    }
+
+    /**
+     * Shop-Panel zeichnen (ohne Dimmer, siehe {@link #drawDimmer}). Das Panel liegt als fertige Ebene vor
+     * und wird nur neu gezeichnet, wenn sich Inhalt, Hover-Ziel, Fokus, Gold oder Layout geändert haben;
+     * sonst ist ein Frame ein einziges Blit.
+     */
+    public void render(Graphics2D g, Player player, int wave, RenderQuality quality) {
         ensureLayout();
+        int hover = hoverTarget();
+        long decodes = ImageCache.completedDecodes();
+        Rectangle lb = layerBounds;
+        if (lb.isEmpty()) return;
+        if (panelLayer == null || panelLayer.getWidth() != lb.width || panelLayer.getHeight() != lb.height
+                || cachedRevision != economy.getRevision() || cachedLayout != layoutVersion
+                || cachedHover != hover || cachedFocus != keyboardFocusIndex
+                || cachedGold != player.gold || cachedWave != wave
+                || !Objects.equals(cachedMessage, lastMessage) || cachedMessageColor != messageColor
+                || cachedDecodes != decodes || cachedTier != quality.current()) {
+            if (panelLayer == null || panelLayer.getWidth() != lb.width || panelLayer.getHeight() != lb.height) {
+                panelLayer = new BufferedImage(lb.width, lb.height, BufferedImage.TYPE_INT_ARGB_PRE);
+            }
+            Graphics2D lg = panelLayer.createGraphics();
+            try {
+                lg.setComposite(AlphaComposite.Clear);
+                lg.fillRect(0, 0, lb.width, lb.height);
+                lg.setComposite(AlphaComposite.SrcOver);
+                lg.translate(-lb.x, -lb.y);
+                renderPanel(lg, player, wave, quality);
+            } finally {
+                lg.dispose();
+            }
+            cachedRevision = economy.getRevision();
+            cachedLayout = layoutVersion;
+            cachedHover = hover;
+            cachedFocus = keyboardFocusIndex;
+            cachedGold = player.gold;
+            cachedWave = wave;
+            cachedMessage = lastMessage;
+            cachedMessageColor = messageColor;
+            cachedDecodes = decodes;
+            cachedTier = quality.current();
+            panelRedraws++;
+        }
+        g.drawImage(panelLayer, lb.x, lb.y, null);
+    }
+
+    /** Wie oft die Panel-Ebene neu gezeichnet wurde (Debug/Benchmarks). */
+    public long getPanelRedraws() { return panelRedraws; }
+
+    /** Interaktives Element unter dem Zeiger als Zahl; gleiches Ziel = gleiche Hover-Darstellung. */
+    private int hoverTarget() {
+        if (rerollBtn.contains(pointerX, pointerY)) return 1;
+        if (nextBtn.contains(pointerX, pointerY)) return 2;
+        for (int i = 0; i < cardUIs.size(); i++) {
+            CardUI ui = cardUIs.get(i);
+            if (ui.lockToggle.contains(pointerX, pointerY)) return 300 + i;
+            if (ui.buy.contains(pointerX, pointerY)) return 200 + i;
+            if (ui.bounds.contains(pointerX, pointerY)) return 100 + i;
+        }
+        for (int i = 0; i < hotbarUIs.size(); i++) {
+            if (hotbarUIs.get(i).sellButton.contains(pointerX, pointerY)) return 400 + i;
+        }
+        return 0;
+    }
 
+    private void renderPanel(Graphics2D g, Player player, int wave, RenderQuality quality) {
         // Stat-Snapshots: Basis & ggf. Preview (Hover/Focus)
         StatsSnapshot baseSnapshot = computeSnapshot(passiveStats, hotbar.getSlots());
         int previewIndex = previewCardIndex();
@@ -320,10 +307,7 @@ public class Shop {
                 ? computeSnapshotForOffer(offers.get(previewIndex))
                 : baseSnapshot;
 
-        // Dimmer
-        g.setColor(new Color(0, 0, 0, 200));
-        g.fillRect(0, 0, canvasW, canvasH);
-        Draw.globalHints(g);
+        Draw.globalHints(g, quality);
 
         // Panel
         Draw.drawShadowedPanel(g, panelRect, PANEL_ARC, Colors.PANEL_SHADOW, 0, 10, Colors.PANEL_BG, Colors.PANEL_BORDER);
@@ -338,79 +322,30 @@ public class Shop {
 
     // Reset für neuen Run
     public void resetRun() {
-        boughtUniques.clear();
-        shopRerollDiscount = 0;
-        shopPriceDiscountPct = 0;
-        offers.clear();
-        lockedOfferIds.clear();
-        carryLockedNextShop.clear();
-        passiveStats.clear();
-        hotbar.getSlots().clear();
-        rerollCost = Math.max(2, 6 - shopRerollDiscount);
-        rerollsThisPhase = 0;
+        economy.resetRun();
         lastMessage = "";
         messageColor = Colors.TEXT_SECONDARY;
         markLayoutDirty();
     }
 
-    public List<Offer> getOffers() { return offers; }
-    public int getRerollCost() { return rerollCost; }
+    public ShopEconomy getEconomy() { return economy; }
+    public List<Offer> getOffers() { return economy.getOffers(); }
+    public int getRerollCost() { return economy.getRerollCost(); }
 
     public void rollOffers(int luck, int harvesting) {
-        rerollCost = Math.max(2, 6 - shopRerollDiscount);
-        rerollsThisPhase = 0;
-        rebuildOffers(luck, harvesting, List.of());
+        economy.rollOffers(luck, harvesting);
         markLayoutDirty();
+        sanitizeFocus();
     }
 
     public void reroll(int luck, int harvesting) {
-        rerollsThisPhase++;
-        rerollCost += 4;
-
-        // gelockte Offers erhalten
-        List<OfferSlot> preserved = new ArrayList<>();
-        for (int i = 0; i < offers.size(); i++) {
-            Offer offer = offers.get(i);
-            if (lockedOfferIds.contains(offer.offerId)) {
-                preserved.add(new OfferSlot(i, offer));
-            }
-        }
-        rebuildOffers(luck, harvesting, preserved);
+        economy.reroll(luck, harvesting);
+        markLayoutDirty();
+        sanitizeFocus();
     }
 
     public PurchaseResult buy(int index, Stats passiveStats, WeaponHotbar hotbar, int goldAvailable) {
-        if (index < 0 || index >= offers.size()) {
-            return new PurchaseResult(false, 0, "Ungültiger Index.");
-        }
-        Offer offer = offers.get(index);
-        int price = applyDiscounts(offer.price);
-        if (goldAvailable < price) {
-            return new PurchaseResult(false, 0, "Nicht genug Gold.");
-        }
-        return switch (offer.type) {
-            case PASSIVE -> {
-                Item item = offer.item;
-                if (item.unique && boughtUniques.contains(item.id)) {
-                    yield new PurchaseResult(false, 0, "Unique bereits gekauft.");
-                }
-                item.applyTo(passiveStats);
-                if (item.unique) boughtUniques.add(item.id);
-
-                // Shop-affine Items
-                if ("u_lucky_charm".equals(item.id)) shopRerollDiscount = 2;
-                if ("bargain_hunter".equals(item.id)) shopPriceDiscountPct = Math.min(50, shopPriceDiscountPct + 15);
-
-                yield new PurchaseResult(true, price, "Gekauft: " + item.name);
-            }
-            case WEAPON -> {
-                WeaponInstance instance = new WeaponInstance(offer.weaponDef, offer.tier);
-                WeaponHotbar.Result result = hotbar.tryAddOrCombine(instance);
-                if (!result.success()) {
-                    yield new PurchaseResult(false, 0, "Hotbar voll (kein Combine möglich).");
-                }
-                yield new PurchaseResult(true, price, result.added() ? "Waffe hinzugefügt" : "Waffe kombiniert");
-            }
-        };
+        return economy.buy(index, passiveStats, hotbar, goldAvailable);
     }
 
     // ====================================================================== //
@@ -573,7 +508,7 @@ public class Shop {
         for (int i = 0; i < cardUIs.size() && i < offers.size(); i++) {
             CardUI ui = cardUIs.get(i);
             Offer offer = offers.get(i);
-            boolean locked = lockedOfferIds.contains(offer.offerId);
+            boolean locked = economy.isLocked(offer);
             boolean lockHover = ui.lockToggle.contains(pointerX, pointerY);
             drawCard(g, ui, offer, player, i, previewIndex == i, locked, lockHover);
             if (lockHover) {
@@ -609,8 +544,7 @@ public class Shop {
 
     private void drawCard(Graphics2D g, CardUI ui, Offer offer, Player player, int index,
                           boolean preview, boolean locked, boolean lockHover) {
-        boolean soldOut = offer.type == OfferType.PASSIVE && offer.item != null && offer.item.unique
-                && boughtUniques.contains(offer.item.id);
+        boolean soldOut = economy.isSoldOut(offer);
         boolean hovered = ui.bounds.contains(pointerX, pointerY);
         Color background = soldOut ? new Color(0x151B27)
                 : (preview ? new Color(0x212E44) : (hovered ? new Color(0x1B2436) : new Color(0x161F30)));
@@ -643,9 +577,12 @@ public class Shop {
             glow.dispose();
         }
 
-        // Icon
-        BufferedImage icon = ImageCache.get(offer.iconPath);
-        Draw.drawIcon(g, icon, ui.icon, CARD_ICON_RADIUS, Colors.PANEL_BORDER);
+        // Icon (Atlas-Kachel; unbekannte Pfade wie bisher einzeln)
+        if (ui.icon.width != CARD_ICON_SIZE || !cardIcons().draw(g, offer.iconPath, ui.icon.x, ui.icon.y)) {
+            BufferedImage icon = ImageCache.getOrPlaceholder(offer.iconPath, ui.icon.width, ui.icon.height,
+                    ImageCache.Priority.VISIBLE);
+            Draw.drawIcon(g, icon, ui.icon, CARD_ICON_RADIUS, Colors.PANEL_BORDER);
+        }
 
         // Rarity
         g.setFont(Fonts.bold(12));
@@ -676,7 +613,7 @@ public class Shop {
         }
 
         // Preis
-        int price = applyDiscounts(offer.price);
+        int price = economy.applyDiscounts(offer.price);
         boolean canAfford = player.gold >= price;
         g.setFont(Fonts.bold(14));
         Color priceColor = soldOut ? Colors.DISABLED : (canAfford ? Colors.SUCCESS : Colors.DANGER);
@@ -711,7 +648,7 @@ public class Shop {
             boolean hoverSell = slot.sellButton.contains(pointerX, pointerY);
             g.setFont(Fonts.bold(12));
             Color sellColor = hoverSell ? Colors.DANGER_HOVER : Colors.DANGER;
-            Draw.drawButton(g, slot.sellButton, "SELL (" + refundValue(slot.weapon) + "G)", sellColor, Colors.TEXT_PRIMARY);
+            Draw.drawButton(g, slot.sellButton, "SELL (" + economy.refundValue(slot.weapon) + "G)", sellColor, Colors.TEXT_PRIMARY);
         } else {
             g.setFont(Fonts.italic(12));
             g.setColor(Colors.TEXT_MUTED);
@@ -753,12 +690,16 @@ public class Shop {
     private void ensureLayout() {
         if (!layoutDirty) return;
         layoutDirty = false;
+        layoutVersion++;
         cardUIs.clear();
         hotbarUIs.clear();
 
         int panelWidth = Math.min(1400, Math.max(1000, (int) Math.round(canvasW * 0.88)));
         int panelHeight = Math.min(660, (int) Math.round(canvasH * 0.82));
         panelRect = Layout.center(canvasW, canvasH, panelWidth, panelHeight);
+        // Panel inkl. Schatten (Offset 10) – nur dieser Ausschnitt wird als Ebene gecacht
+        layerBounds = new Rectangle(panelRect.x - 4, panelRect.y - 4, panelRect.width + 8, panelRect.height + 18)
+                .intersection(new Rectangle(0, 0, canvasW, canvasH));
 
         int contentX = panelRect.x + PANEL_PADDING;
         int contentY = panelRect.y + PANEL_PADDING;
@@ -885,14 +826,28 @@ public class Shop {
         return false;
     }
 
+    private void attemptReroll(Player player) {
+        int cost = getRerollCost();
+        if (player.gold >= cost) {
+            player.gold -= cost;
+            reroll(0, 0);
+            Metrics.REROLLS.inc();
+            Metrics.GOLD_SPENT.add(cost);
+            lastMessage = "Shop rerolled (−" + cost + "G)";
+            messageColor = Colors.TEXT_SECONDARY;
+        } else {
+            lastMessage = "Nicht genug Gold für Reroll (" + cost + "G)";
+            messageColor = Colors.DANGER;
+        }
+    }
+
     private void attemptPurchase(int index, Player player) {
         if (index < 0 || index >= offers.size()) return;
-        Offer offer = offers.get(index);
-        PurchaseResult result = buy(index, passiveStats, hotbar, player.gold);
+        PurchaseResult result = economy.purchase(index, player.gold);
         if (result.success) {
             player.gold -= result.goldSpent;
-            offers.remove(index);
-            lockedOfferIds.remove(offer.offerId);
+            Metrics.PURCHASES.inc();
+            Metrics.GOLD_SPENT.add(result.goldSpent);
             lastMessage = result.message + " (−" + result.goldSpent + "G)";
             messageColor = Colors.SUCCESS;
             markLayoutDirty();
@@ -906,34 +861,21 @@ public class Shop {
     private void toggleLock(int index) {
         if (index < 0 || index >= offers.size()) return;
         Offer offer = offers.get(index);
-        if (lockedOfferIds.remove(offer.offerId)) {
-            lastMessage = "Unlock: " + offer.title;
-        } else {
-            lockedOfferIds.add(offer.offerId);
+        if (economy.toggleLock(index)) {
             lastMessage = "Lock: " + offer.title;
+        } else {
+            lastMessage = "Unlock: " + offer.title;
         }
         messageColor = Colors.TEXT_SECONDARY;
     }
 
-    private void stashLockedForNextShop() {
-        if (lockedOfferIds.isEmpty()) {
-            carryLockedNextShop.clear();
-            return;
-        }
-        carryLockedNextShop.clear();
-        for (Offer offer : offers) {
-            if (lockedOfferIds.contains(offer.offerId)) carryLockedNextShop.add(offer);
-        }
-        lockedOfferIds.clear();
-    }
-
     private boolean trySellWeapon(Input input, Player player) {
         for (HotbarSlotUI slot : hotbarUIs) {
             if (slot.weapon == null) continue;
             if (slot.sellButton.contains(input.mouseX, input.mouseY)) {
-                WeaponInstance removed = hotbar.remove(slot.index);
+                WeaponInstance removed = economy.sellWeapon(slot.index);
                 if (removed != null) {
-                    int refund = refundValue(removed);
+                    int refund = economy.refundValue(removed);
                     player.gold += refund;
                     lastMessage = "Verkauft: " + removed.displayName() + " (+" + refund + "G)";
                     messageColor = Colors.SUCCESS;
@@ -945,118 +887,8 @@ public class Shop {
         return false;
     }
 
-    private int refundValue(WeaponInstance weapon) {
-        return Math.max(1, (int) Math.round(weapon.price() * 0.5));
-    }
-
     private void markLayoutDirty() { layoutDirty = true; }
 
-    // ====================================================================== //
-    //                           OFFER GENERATION                             //
-    // ====================================================================== //
-
-    private void rebuildOffers(int luck, int harvesting, List<OfferSlot> preserved) {
-        int slots = computeSlots(harvesting);
-        Offer[] newOffers = new Offer[slots];
-
-        // gelockte an ursprünglichen/naheliegenden Index legen
-        for (OfferSlot slot : preserved) {
-            int idx = Math.max(0, Math.min(slots - 1, slot.index()));
-            while (idx < slots && newOffers[idx] != null) idx++;
-            if (idx >= slots) break;
-            newOffers[idx] = slot.offer();
-        }
-
-        // rest auffüllen
-        for (int i = 0; i < slots; i++) {
-            if (newOffers[i] == null) newOffers[i] = randomOffer(luck);
-        }
-
-        offers.clear();
-        for (Offer offer : newOffers) if (offer != null) offers.add(offer);
-
-        // Locks säubern (nur ids, die noch existieren)
-        lockedOfferIds.retainAll(currentOfferIds());
-        markLayoutDirty();
-        sanitizeFocus();
-    }
-
-    private Set<String> currentOfferIds() {
-        Set<String> ids = new HashSet<>();
-        for (Offer offer : offers) ids.add(offer.offerId);
-        return ids;
-    }
-
-    private Offer randomOffer(int luck) {
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
-        boolean weapon = rnd.nextDouble() < 0.55;
-        if (weapon) {
-            WeaponDef def = randomWeaponDef(luck);
-            WeaponTier tier = randomWeaponTier(luck);
-            return Offer.weapon(def, tier);
-        }
-        return Offer.passive(randomPassiveItem(luck));
-    }
-
-    private Item randomPassiveItem(int luck) {
-        List<Item> candidates = new ArrayList<>();
-        for (Item item : passivePool) {
-            if (item.unique && boughtUniques.contains(item.id)) continue;
-            candidates.add(item);
-        }
-        List<Item> pool = candidates.isEmpty() ? passivePool : candidates;
-        return pool.get(ThreadLocalRandom.current().nextInt(pool.size()));
-    }
-
-    private WeaponDef randomWeaponDef(int luck) {
-        List<WeaponDef> pool = new ArrayList<>(weapons.values());
-        int[] weights = new int[pool.size()];
-        int total = 0;
-        for (int i = 0; i < pool.size(); i++) {
-            WeaponDef def = pool.get(i);
-            double mult = 1.0 + Math.max(0, luck) * 0.008 * def.rarityHint.rank();
-            int weight = (int) Math.max(1, Math.round(def.rarityHint.weight * mult));
-            weights[i] = weight; total += weight;
-        }
-        int pick = ThreadLocalRandom.current().nextInt(Math.max(1, total));
-        for (int i = 0; i < pool.size(); i++) {
-            pick -= weights[i];
-            if (pick < 0) return pool.get(i);
-        }
-        return pool.get(0);
-    }
-
-    private WeaponTier randomWeaponTier(int luck) {
-        int common = bias(70, 0, luck);
-        int uncommon = bias(22, 1, luck);
-        int rare = bias(7, 2, luck);
-        int epic = bias(1, 3, luck);
-        int total = common + uncommon + rare + epic;
-        int pick = ThreadLocalRandom.current().nextInt(Math.max(1, total));
-        if ((pick -= common) < 0) return WeaponTier.COMMON;
-        if ((pick -= uncommon) < 0) return WeaponTier.UNCOMMON;
-        if ((pick -= rare) < 0) return WeaponTier.RARE;
-        return WeaponTier.EPIC;
-    }
-
-    private int bias(int base, int rank, int luck) {
-        double mult = 1.0 + Math.max(0, luck) * 0.012 * rank;
-        return (int) Math.max(1, Math.round(base * mult));
-    }
-
-    private int computeSlots(int harvesting) {
-        int slots = 4 + Integer.compare(harvesting, 0);
-        return Math.max(2, Math.min(6, slots));
-    }
-
-    private int applyDiscounts(int price) {
-        int discounted = price;
-        if (shopPriceDiscountPct > 0) {
-            discounted = (int) Math.round(price * (1.0 - shopPriceDiscountPct / 100.0));
-        }
-        return Math.max(1, discounted);
-    }
-
     // ====================================================================== //
     //                         STATS / PREVIEW-LOGIK                          //
     // ====================================================================== //
@@ -1091,7 +923,7 @@ public class Shop {
         Stats passives = new Stats(passiveStats);
         List<WeaponInstance> weapons = cloneHotbar();
         if (offer.type == OfferType.PASSIVE) {
-            if (offer.item.unique && boughtUniques.contains(offer.item.id)) {
+            if (economy.isSoldOut(offer)) {
                 return computeSnapshot(passives, weapons);
             }
             offer.item.applyTo(passives);
@@ -1485,7 +1317,6 @@ public class Shop {
 
     private record StatsSnapshot(Stats raw, EffectiveStats effective) {}
     private record ModLine(String text, Color color) {}
-    private record OfferSlot(int index, Offer offer) {}
     private record StatLine(String baseText, String previewText, String deltaText, int deltaSign) {}
 
     private static final class CardUI {
@@ -0,0 +1,437 @@
+package de.felixstaude.roguelike.shop;
+
+import de.felixstaude.roguelike.items.Item;
+import de.felixstaude.roguelike.items.ItemRarity;
+import de.felixstaude.roguelike.items.Mod;
+import de.felixstaude.roguelike.items.PassiveItemCatalog;
+import de.felixstaude.roguelike.stats.Stats;
+import de.felixstaude.roguelike.util.AliasTable;
+import de.felixstaude.roguelike.weapons.WeaponCatalog;
+import de.felixstaude.roguelike.weapons.WeaponDef;
+import de.felixstaude.roguelike.weapons.WeaponHotbar;
+import de.felixstaude.roguelike.weapons.WeaponInstance;
+import de.felixstaude.roguelike.weapons.WeaponTier;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Angebots- und Ökonomie-Logik des Shops ohne Rendering/Input.
+ * Der {@link Shop} zeichnet darauf; Simulationen können die Klasse direkt (headless) mit eigenem RNG treiben.
+ */
+public class ShopEconomy {
+
+    public enum OfferType { PASSIVE, WEAPON }
+
+    public static final class Offer {
+        public final String offerId;
+        public final OfferType type;
+        public final String title;
+        public final ItemRarity rarity;
+        public final int price;
+        public final List<Mod> mods;
+        public final Item item;                  // wenn PASSIVE
+        public final WeaponDef weaponDef;        // wenn WEAPON
+        public final WeaponTier tier;            // wenn WEAPON
+        public final String iconPath;            // optional, sonst aus id/type abgeleitet
+
+        private Offer(String offerId, OfferType type, String title, ItemRarity rarity, int price, List<Mod> mods,
+                      Item item, WeaponDef weaponDef, WeaponTier tier, String iconPath) {
+            this.offerId = offerId;
+            this.type = type;
+            this.title = title;
+            this.rarity = rarity;
+            this.price = price;
+            this.mods = List.copyOf(mods);
+            this.item = item;
+            this.weaponDef = weaponDef;
+            this.tier = tier;
+            this.iconPath = iconPath;
+        }
+
+        static Offer passive(String offerId, Item item) {
+            String icon = iconPath(item);
+            return new Offer(offerId, OfferType.PASSIVE, item.name, item.rarity, item.price,
+                    item.mods, item, null, null, icon);
+        }
+
+        static Offer weapon(String offerId, WeaponDef def, WeaponTier tier) {
+            String title = def.name + " [" + tier.name() + "]";
+            ItemRarity rarity = rarityFromTier(def, tier);
+            String icon = iconPath(def);
+            return new Offer(offerId, OfferType.WEAPON, title, rarity, def.price(tier),
+                    def.mods(tier), null, def, tier, icon);
+        }
+
+        static String iconPath(Item item) {
+            return "/icons/items/" + item.id + ".png";
+        }
+
+        static String iconPath(WeaponDef def) {
+            return "/icons/weapons/" + def.type.name().toLowerCase(Locale.ROOT) + ".png";
+        }
+
+        private static ItemRarity rarityFromTier(WeaponDef def, WeaponTier tier) {
+            return switch (tier) {
+                case COMMON -> def.rarityHint;
+                case UNCOMMON -> bump(def.rarityHint);
+                case RARE -> bump(bump(def.rarityHint));
+                case EPIC -> ItemRarity.EPIC;
+            };
+        }
+
+        private static ItemRarity bump(ItemRarity rarity) {
+            return switch (rarity) {
+                case COMMON -> ItemRarity.UNCOMMON;
+                case UNCOMMON -> ItemRarity.RARE;
+                case RARE, EPIC -> ItemRarity.EPIC;
+            };
+        }
+    }
+
+    /** Alle Icon-Pfade, die ein Angebot haben kann (für Atlas/Preload). */
+    public static List<String> allIconPaths() {
+        List<String> paths = new ArrayList<>();
+        for (Item item : PassiveItemCatalog.all()) paths.add(Offer.iconPath(item));
+        for (WeaponDef def : WeaponCatalog.all().values()) paths.add(Offer.iconPath(def));
+        return paths;
+    }
+
+    public static final class PurchaseResult {
+        public final boolean success;
+        public final int goldSpent;
+        public final String message;
+
+        public PurchaseResult(boolean success, int goldSpent, String message) {
+            this.success = success;
+            this.goldSpent = goldSpent;
+            this.message = message;
+        }
+    }
+
+    // --- Datenquellen / Pools ---
+    private final List<Item> passivePool = PassiveItemCatalog.all();
+    private final WeaponDef[] weaponPool = WeaponCatalog.all().values().toArray(new WeaponDef[0]);
+    private static final WeaponTier[] WEAPON_TIERS = WeaponTier.values();
+
+    // --- Roll-Caches (Alias-Tabellen für den aktuellen Luck-Wert, Kandidaten je Unique-Stand) ---
+    // Luck ist unbeschränkt; gecacht wird nur der zuletzt genutzte Wert, er ändert sich selten.
+    private AliasTable weaponDefTable;
+    private int weaponDefLuck;
+    private AliasTable weaponTierTable;
+    private int weaponTierLuck;
+    private Item[] passiveCandidates;
+
+    private RandomGenerator random;           // null = ThreadLocalRandom des aufrufenden Threads
+    private long nextOfferId = 1;
+
+    // --- Run- / Shop-States ---
+    private final Set<String> boughtUniques = new HashSet<>();
+    private final Set<String> lockedOfferIds = new HashSet<>();
+    private final List<Offer> carryLockedNextShop = new ArrayList<>();
+
+    private int shopRerollDiscount = 0;
+    private int shopPriceDiscountPct = 0;
+
+    private final List<Offer> offers = new ArrayList<>();
+
+    private final Stats passiveStats = new Stats();
+    private final WeaponHotbar hotbar = new WeaponHotbar();
+
+    // --- ökonomische Regeln ---
+    private int rerollCost = 6;
+    private int rerollsThisPhase = 0;
+    private long revision = 0;
+
+    public ShopEconomy() {
+        this(null);
+    }
+
+    /** Für Simulationen: eigener (z. B. geseedeter) Zufallsstrom. */
+    public ShopEconomy(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /** ThreadLocalRandom darf nicht über Threads hinweg gehalten werden, daher bei jedem Zugriff neu holen. */
+    private RandomGenerator random() {
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    // ====================================================================== //
+    //                             PUBLIC API                                 //
+    // ====================================================================== //
+
+    /** Shop-Phase starten / neu befüllen (nach einer Wave); übernimmt Locks aus dem vorherigen Shop einmalig. */
+    public void openPhase(int luck, int harvesting) {
+        revision++;
+        rerollCost = Math.max(2, 6 - shopRerollDiscount);
+        rerollsThisPhase = 0;
+
+        List<OfferSlot> preserved = new ArrayList<>();
+        for (int i = 0; i < carryLockedNextShop.size(); i++) {
+            preserved.add(new OfferSlot(i, carryLockedNextShop.get(i)));
+        }
+        carryLockedNextShop.clear();
+        rebuildOffers(luck, harvesting, preserved);
+    }
+
+    // Reset für neuen Run
+    /** Für Simulationen: neuer Run mit eigenem Zufallsstrom; die Roll-Caches bleiben warm. */
+    public void resetRun(RandomGenerator random) {
+        this.random = random;
+        resetRun();
+    }
+
+    public void resetRun() {
+        revision++;
+        boughtUniques.clear();
+        passiveCandidates = null;
+        shopRerollDiscount = 0;
+        shopPriceDiscountPct = 0;
+        offers.clear();
+        lockedOfferIds.clear();
+        carryLockedNextShop.clear();
+        passiveStats.clear();
+        hotbar.getSlots().clear();
+        rerollCost = Math.max(2, 6 - shopRerollDiscount);
+        rerollsThisPhase = 0;
+    }
+
+    public List<Offer> getOffers() { return offers; }
+    /** Zählt jede Änderung an Angeboten, Locks, Passives oder Hotbar (für gecachtes Rendering). */
+    public long getRevision() { return revision; }
+    public int getRerollCost() { return rerollCost; }
+    public int getRerollsThisPhase() { return rerollsThisPhase; }
+    public Stats getPassiveStats() { return passiveStats; }
+    public WeaponHotbar getHotbar() { return hotbar; }
+
+    public void rollOffers(int luck, int harvesting) {
+        revision++;
+        rerollCost = Math.max(2, 6 - shopRerollDiscount);
+        rerollsThisPhase = 0;
+        rebuildOffers(luck, harvesting, List.of());
+    }
+
+    public void reroll(int luck, int harvesting) {
+        revision++;
+        rerollsThisPhase++;
+        rerollCost += 4;
+
+        // gelockte Offers erhalten
+        List<OfferSlot> preserved = new ArrayList<>();
+        for (int i = 0; i < offers.size(); i++) {
+            Offer offer = offers.get(i);
+            if (lockedOfferIds.contains(offer.offerId)) {
+                preserved.add(new OfferSlot(i, offer));
+            }
+        }
+        rebuildOffers(luck, harvesting, preserved);
+    }
+
+    public PurchaseResult buy(int index, Stats passiveStats, WeaponHotbar hotbar, int goldAvailable) {
+        if (index < 0 || index >= offers.size()) {
+            return new PurchaseResult(false, 0, "Ungültiger Index.");
+        }
+        Offer offer = offers.get(index);
+        int price = applyDiscounts(offer.price);
+        if (goldAvailable < price) {
+            return new PurchaseResult(false, 0, "Nicht genug Gold.");
+        }
+        revision++;
+        return switch (offer.type) {
+            case PASSIVE -> {
+                Item item = offer.item;
+                if (item.unique && boughtUniques.contains(item.id)) {
+                    yield new PurchaseResult(false, 0, "Unique bereits gekauft.");
+                }
+                item.applyTo(passiveStats);
+                if (item.unique && boughtUniques.add(item.id)) passiveCandidates = null;
+
+                // Shop-affine Items
+                if ("u_lucky_charm".equals(item.id)) shopRerollDiscount = 2;
+                if ("bargain_hunter".equals(item.id)) shopPriceDiscountPct = Math.min(50, shopPriceDiscountPct + 15);
+
+                yield new PurchaseResult(true, price, "Gekauft: " + item.name);
+            }
+            case WEAPON -> {
+                WeaponInstance instance = new WeaponInstance(offer.weaponDef, offer.tier);
+                WeaponHotbar.Result result = hotbar.tryAddOrCombine(instance);
+                if (!result.success()) {
+                    yield new PurchaseResult(false, 0, "Hotbar voll (kein Combine möglich).");
+                }
+                yield new PurchaseResult(true, price, result.added() ? "Waffe hinzugefügt" : "Waffe kombiniert");
+            }
+        };
+    }
+
+    /** Kauf in die eigenen Passives/Hotbar; bei Erfolg verschwindet das Angebot (inkl. Lock). */
+    public PurchaseResult purchase(int index, int goldAvailable) {
+        PurchaseResult result = buy(index, passiveStats, hotbar, goldAvailable);
+        if (result.success) {
+            Offer offer = offers.remove(index);
+            lockedOfferIds.remove(offer.offerId);
+        }
+        return result;
+    }
+
+    /** Lock umschalten; true = jetzt gelockt. */
+    public boolean toggleLock(int index) {
+        revision++;
+        Offer offer = offers.get(index);
+        if (lockedOfferIds.remove(offer.offerId)) return false;
+        lockedOfferIds.add(offer.offerId);
+        return true;
+    }
+
+    public boolean isLocked(Offer offer) {
+        return lockedOfferIds.contains(offer.offerId);
+    }
+
+    /** Unique, das in diesem Run bereits gekauft wurde. */
+    public boolean isSoldOut(Offer offer) {
+        return offer.type == OfferType.PASSIVE && offer.item != null && offer.item.unique
+                && boughtUniques.contains(offer.item.id);
+    }
+
+    public void stashLockedForNextShop() {
+        revision++;
+        if (lockedOfferIds.isEmpty()) {
+            carryLockedNextShop.clear();
+            return;
+        }
+        carryLockedNextShop.clear();
+        for (Offer offer : offers) {
+            if (lockedOfferIds.contains(offer.offerId)) carryLockedNextShop.add(offer);
+        }
+        lockedOfferIds.clear();
+    }
+
+    /** Entfernt die Waffe aus dem Slot; Rückgabe null, wenn leer. Erstattung über {@link #refundValue}. */
+    public WeaponInstance sellWeapon(int slot) {
+        revision++;
+        return hotbar.remove(slot);
+    }
+
+    public int refundValue(WeaponInstance weapon) {
+        return Math.max(1, (int) Math.round(weapon.price() * 0.5));
+    }
+
+    public int applyDiscounts(int price) {
+        int discounted = price;
+        if (shopPriceDiscountPct > 0) {
+            discounted = (int) Math.round(price * (1.0 - shopPriceDiscountPct / 100.0));
+        }
+        return Math.max(1, discounted);
+    }
+
+    // ====================================================================== //
+    //                           OFFER GENERATION                             //
+    // ====================================================================== //
+
+    private void rebuildOffers(int luck, int harvesting, List<OfferSlot> preserved) {
+        int slots = computeSlots(harvesting);
+        Offer[] newOffers = new Offer[slots];
+
+        // gelockte an ursprünglichen/naheliegenden Index legen
+        for (OfferSlot slot : preserved) {
+            int idx = Math.max(0, Math.min(slots - 1, slot.index()));
+            while (idx < slots && newOffers[idx] != null) idx++;
+            if (idx >= slots) break;
+            newOffers[idx] = slot.offer();
+        }
+
+        // rest auffüllen
+        for (int i = 0; i < slots; i++) {
+            if (newOffers[i] == null) newOffers[i] = randomOffer(luck);
+        }
+
+        offers.clear();
+        for (Offer offer : newOffers) if (offer != null) offers.add(offer);
+
+        // Locks säubern (nur ids, die noch existieren)
+        lockedOfferIds.retainAll(currentOfferIds());
+    }
+
+    private Set<String> currentOfferIds() {
+        Set<String> ids = new HashSet<>();
+        for (Offer offer : offers) ids.add(offer.offerId);
+        return ids;
+    }
+
+    private Offer randomOffer(int luck) {
+        String id = Long.toString(nextOfferId++);
+        boolean weapon = random().nextDouble() < 0.55;
+        if (weapon) {
+            WeaponDef def = randomWeaponDef(luck);
+            WeaponTier tier = randomWeaponTier(luck);
+            return Offer.weapon(id, def, tier);
+        }
+        return Offer.passive(id, randomPassiveItem(luck));
+    }
+
+    private Item randomPassiveItem(int luck) {
+        Item[] pool = passiveCandidates();
+        return pool[random().nextInt(pool.length)];
+    }
+
+    /** Kandidaten ohne bereits gekaufte Uniques; nur neu aufgebaut, wenn sich boughtUniques ändert. */
+    private Item[] passiveCandidates() {
+        if (passiveCandidates != null) return passiveCandidates;
+        List<Item> candidates = new ArrayList<>();
+        for (Item item : passivePool) {
+            if (item.unique && boughtUniques.contains(item.id)) continue;
+            candidates.add(item);
+        }
+        List<Item> pool = candidates.isEmpty() ? passivePool : candidates;
+        passiveCandidates = pool.toArray(new Item[0]);
+        return passiveCandidates;
+    }
+
+    private WeaponDef randomWeaponDef(int luck) {
+        AliasTable table = weaponDefTable;
+        if (table == null || weaponDefLuck != luck) {
+            int[] weights = new int[weaponPool.length];
+            for (int i = 0; i < weaponPool.length; i++) {
+                WeaponDef def = weaponPool[i];
+                double mult = 1.0 + Math.max(0, luck) * 0.008 * def.rarityHint.rank();
+                weights[i] = (int) Math.max(1, Math.round(def.rarityHint.weight * mult));
+            }
+            table = AliasTable.of(weights);
+            weaponDefTable = table;
+            weaponDefLuck = luck;
+        }
+        return weaponPool[table.sample(random())];
+    }
+
+    private WeaponTier randomWeaponTier(int luck) {
+        AliasTable table = weaponTierTable;
+        if (table == null || weaponTierLuck != luck) {
+            table = AliasTable.of(new int[] {
+                    bias(70, 0, luck),
+                    bias(22, 1, luck),
+                    bias(7, 2, luck),
+                    bias(1, 3, luck)
+            });
+            weaponTierTable = table;
+            weaponTierLuck = luck;
+        }
+        return WEAPON_TIERS[table.sample(random())];
+    }
+
+    private int bias(int base, int rank, int luck) {
+        double mult = 1.0 + Math.max(0, luck) * 0.012 * rank;
+        return (int) Math.max(1, Math.round(base * mult));
+    }
+
+    private int computeSlots(int harvesting) {
+        int slots = 4 + Integer.compare(harvesting, 0);
+        return Math.max(2, Math.min(6, slots));
+    }
+
+    private record OfferSlot(int index, Offer offer) {}
+}
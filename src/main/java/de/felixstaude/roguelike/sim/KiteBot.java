@@ -0,0 +1,78 @@
+package de.felixstaude.roguelike.sim;
+
+import de.felixstaude.roguelike.core.Engine;
+import de.felixstaude.roguelike.core.EngineArena;
+import de.felixstaude.roguelike.core.GameState;
+import de.felixstaude.roguelike.entity.Enemies;
+import de.felixstaude.roguelike.entity.Player;
+import de.felixstaude.roguelike.input.Input;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Einfacher Bot: weicht nahen Gegnern aus (kiten, leicht kreisend, zur Mitte gezogen)
+ * und zielt auf den nächsten Gegner. Im Shop startet er sofort die nächste Wave.
+ */
+public class KiteBot implements Engine.Controller {
+    private static final double THREAT_RADIUS = 260.0;
+    private static final double CENTER_PULL = 0.0025;
+    private static final double CIRCLE = 0.6;
+    private static final double DEADZONE = 0.3;
+
+    @Override
+    public void control(Engine engine, Input input) {
+        if (engine.getState() == GameState.SHOP) {
+            releaseMovement(input);
+            // SPACE als einzelner Tap: Tick 1 drücken, Tick 2 loslassen
+            input.setKey(KeyEvent.VK_SPACE, !input.isDown(KeyEvent.VK_SPACE));
+            return;
+        }
+        input.setKey(KeyEvent.VK_SPACE, false);
+        if (engine.getState() != GameState.RUNNING) {
+            releaseMovement(input);
+            return;
+        }
+
+        Player p = engine.getPlayer();
+        Enemies enemies = engine.getEnemies();
+
+        double fleeX = 0, fleeY = 0;
+        int nearest = -1;
+        double nearestD2 = Double.MAX_VALUE;
+        for (int i = 0; i < enemies.size(); i++) {
+            if (enemies.isDead(i)) continue;
+            double dx = p.pos.x - enemies.x(i), dy = p.pos.y - enemies.y(i);
+            double d2 = dx * dx + dy * dy;
+            if (d2 < nearestD2) { nearestD2 = d2; nearest = i; }
+            if (d2 < THREAT_RADIUS * THREAT_RADIUS && d2 > 1e-6) {
+                fleeX += dx / d2;
+                fleeY += dy / d2;
+            }
+        }
+
+        double len = Math.sqrt(fleeX * fleeX + fleeY * fleeY);
+        double dirX = 0, dirY = 0;
+        if (len > 1e-9) {
+            dirX = fleeX / len - CIRCLE * fleeY / len;
+            dirY = fleeY / len + CIRCLE * fleeX / len;
+        }
+        dirX += (EngineArena.ARENA_W / 2.0 - p.pos.x) * CENTER_PULL;
+        dirY += (EngineArena.ARENA_H / 2.0 - p.pos.y) * CENTER_PULL;
+
+        input.setKey(KeyEvent.VK_A, dirX < -DEADZONE);
+        input.setKey(KeyEvent.VK_D, dirX > DEADZONE);
+        input.setKey(KeyEvent.VK_W, dirY < -DEADZONE);
+        input.setKey(KeyEvent.VK_S, dirY > DEADZONE);
+
+        if (nearest >= 0) {
+            input.setMouse((int) enemies.x(nearest), (int) enemies.y(nearest));
+        }
+    }
+
+    private static void releaseMovement(Input input) {
+        input.setKey(KeyEvent.VK_W, false);
+        input.setKey(KeyEvent.VK_A, false);
+        input.setKey(KeyEvent.VK_S, false);
+        input.setKey(KeyEvent.VK_D, false);
+    }
+}
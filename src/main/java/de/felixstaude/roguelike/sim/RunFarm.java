@@ -0,0 +1,224 @@
+package de.felixstaude.roguelike.sim;
+
+import de.felixstaude.roguelike.core.Engine;
+import de.felixstaude.roguelike.core.GameState;
+import de.felixstaude.roguelike.core.TickRate;
+import de.felixstaude.roguelike.metrics.MetricsServer;
+import de.felixstaude.roguelike.world.GameMode;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Führt viele unabhängige Headless-{@link Engine}s parallel mit Bot-Steuerung aus
+ * und aggregiert je Wave Überleben, DPS und Tick-Kosten.
+ * Gedacht zur Validierung von Änderungen an {@code WaveDifficulty.forWave}.
+ *
+ * <p>Aufruf: {@code mvn exec:java -Dexec.mainClass=de.felixstaude.roguelike.sim.RunFarm
+ * -Dexec.args="runs=200 waves=15"}, Horde-Stresstest mit {@code runs=1 waves=12 mode=horde invulnerable=true}.
+ * Jeder Run bekommt per {@code split()} einen eigenen Zufallsstrom aus einem Root-Seed; der Report nennt
+ * den Seed, mit {@code seed=N} (und gleicher Run-Zahl) ist das Ergebnis reproduzierbar.
+ * Mit {@code metricsPort=9464} lässt sich ein Soak-Lauf per Prometheus abfragen; der Endpoint lauscht
+ * nur auf Loopback, für Zugriff von außen explizit {@code metricsHost=0.0.0.0} angeben.
+ */
+public final class RunFarm {
+
+    /** Parameter der Run-Farm. */
+    public static final class Config {
+        public int runs = 200;
+        public int waves = 15;
+        public int threads = Runtime.getRuntime().availableProcessors();
+        public GameMode mode = GameMode.STANDARD;
+        public TickRate tickRate = TickRate.STANDARD;
+        /** Spieler-HP jeden Tick auffüllen – für Stresstests bis in späte Horde-Waves. */
+        public boolean invulnerable = false;
+        public String out = null;
+        /** Root-Seed, aus dem alle Runs abgeleitet werden; ohne Angabe zufällig. */
+        public long seed = new SplittableRandom().nextLong();
+        public int metricsPort = -1;      // >= 0: Prometheus-Endpoint während des Laufs (Soak-Tests)
+        public String metricsHost = MetricsServer.DEFAULT_HOST;
+
+        static Config parse(String[] args) {
+            Config c = new Config();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq <= 0) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+                String key = arg.substring(0, eq);
+                String value = arg.substring(eq + 1);
+                switch (key) {
+                    case "runs" -> c.runs = Integer.parseInt(value);
+                    case "waves" -> c.waves = Integer.parseInt(value);
+                    case "threads" -> c.threads = Math.max(1, Integer.parseInt(value));
+                    case "mode" -> c.mode = GameMode.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "ups" -> c.tickRate = TickRate.parse(value);
+                    case "invulnerable" -> c.invulnerable = Boolean.parseBoolean(value);
+                    case "out" -> c.out = value;
+                    case "seed" -> c.seed = Long.parseLong(value);
+                    case "metricsPort" -> c.metricsPort = Integer.parseInt(value);
+                    case "metricsHost" -> c.metricsHost = value;
+                    default -> throw new IllegalArgumentException("Unknown option: " + key);
+                }
+            }
+            return c;
+        }
+    }
+
+    /** Aufsummierte Kennzahlen einer Wave über alle Runs. */
+    static final class WaveStats {
+        long started;
+        long survived;
+        double damage;
+        long kills;
+        long ticks;
+        long tickNanos;
+        long maxTickNanos;
+        int peakEnemies;
+
+        void merge(WaveStats o) {
+            started += o.started;
+            survived += o.survived;
+            damage += o.damage;
+            kills += o.kills;
+            ticks += o.ticks;
+            tickNanos += o.tickNanos;
+            maxTickNanos = Math.max(maxTickNanos, o.maxTickNanos);
+            peakEnemies = Math.max(peakEnemies, o.peakEnemies);
+        }
+    }
+
+    private final Config config;
+    private final Supplier<Engine.Controller> bots;
+
+    public RunFarm(Config config, Supplier<Engine.Controller> bots) {
+        this.config = config;
+        this.bots = bots;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.parse(args);
+        MetricsServer metrics = config.metricsPort >= 0
+                ? MetricsServer.start(config.metricsHost, config.metricsPort) : null;
+        if (metrics != null) System.out.println("Metrics on " + config.metricsHost + ":" + metrics.port() + " (/metrics)");
+        long start = System.nanoTime();
+        WaveStats[] result;
+        try {
+            result = new RunFarm(config, KiteBot::new).run();
+        } finally {
+            if (metrics != null) metrics.stop();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        if (config.out != null) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(Path.of(config.out)), false, "UTF-8")) {
+                writeReport(out, config, result, seconds);
+            }
+        } else {
+            writeReport(System.out, config, result, seconds);
+        }
+    }
+
+    /** Alle Runs parallel; Ergebnis indiziert [wave-1]. */
+    public WaveStats[] run() throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(config.threads);
+        try {
+            // Streams in fester Reihenfolge ableiten, damit Run i unabhängig vom Scheduling denselben bekommt
+            SplittableRandom root = new SplittableRandom(config.seed);
+            List<Future<WaveStats[]>> futures = new ArrayList<>(config.runs);
+            for (int i = 0; i < config.runs; i++) {
+                SplittableRandom random = root.split();
+                futures.add(pool.submit(() -> simulateRun(random)));
+            }
+            WaveStats[] total = newStats();
+            for (Future<WaveStats[]> f : futures) {
+                WaveStats[] part = f.get();
+                for (int w = 0; w < total.length; w++) total[w].merge(part[w]);
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private WaveStats[] newStats() {
+        WaveStats[] stats = new WaveStats[config.waves];
+        for (int w = 0; w < stats.length; w++) stats[w] = new WaveStats();
+        return stats;
+    }
+
+    private WaveStats[] simulateRun(SplittableRandom random) {
+        WaveStats[] stats = newStats();
+        Engine.Controller bot = bots.get();
+        Engine.Controller controller = !config.invulnerable ? bot : (e, in) -> {
+            e.getPlayer().hp = e.getPlayer().maxHp;
+            bot.control(e, in);
+        };
+        Engine engine = Engine.headless(controller, config.mode, config.tickRate, random);
+        double dt = config.tickRate.dt();
+
+        WaveStats current = stats[0];
+        current.started++;
+        double damageAtStart = 0.0;
+        long killsAtStart = 0;
+        GameState previous = engine.getState();
+
+        while (true) {
+            long t0 = System.nanoTime();
+            engine.onUpdate(dt);
+            long cost = System.nanoTime() - t0;
+            GameState state = engine.getState();
+
+            if (previous == GameState.RUNNING) {
+                current.ticks++;
+                current.tickNanos += cost;
+                current.maxTickNanos = Math.max(current.maxTickNanos, cost);
+                current.peakEnemies = Math.max(current.peakEnemies, engine.getEnemies().size());
+            }
+            if (previous == GameState.RUNNING && state != GameState.RUNNING) {
+                current.damage += engine.getDamageSystem().getDamageDealt() - damageAtStart;
+                current.kills += engine.getDamageSystem().getKills() - killsAtStart;
+                if (state == GameState.GAME_OVER) break;
+                current.survived++;
+                if (engine.getWave() >= config.waves) break;
+            }
+            if (previous == GameState.SHOP && state == GameState.RUNNING) {
+                current = stats[engine.getWave() - 1];
+                current.started++;
+                damageAtStart = engine.getDamageSystem().getDamageDealt();
+                killsAtStart = engine.getDamageSystem().getKills();
+            }
+            previous = state;
+        }
+        return stats;
+    }
+
+    static void writeReport(PrintStream out, Config config, WaveStats[] stats, double seconds) {
+        out.printf(Locale.ROOT, "Run farm: %d runs x up to %d waves, mode=%s, threads=%d, %d UPS, seed=%d (%.1fs)%n%n",
+                config.runs, config.waves, config.mode, config.threads, config.tickRate.ups, config.seed, seconds);
+        out.printf(Locale.ROOT, "%4s %8s %9s %9s %9s %10s %10s %8s%n",
+                "wave", "started", "survive%", "dps", "kills", "tick us", "max us", "enemies");
+        for (int w = 0; w < stats.length; w++) {
+            WaveStats s = stats[w];
+            if (s.started == 0) break;
+            double simSeconds = Math.max(1e-9, s.ticks / (double) config.tickRate.ups);
+            out.printf(Locale.ROOT, "%4d %8d %8.1f%% %9.1f %9.1f %10.1f %10.1f %8d%n",
+                    w + 1,
+                    s.started,
+                    100.0 * s.survived / s.started,
+                    s.damage / simSeconds,
+                    s.kills / (double) s.started,
+                    s.tickNanos / 1000.0 / Math.max(1, s.ticks),
+                    s.maxTickNanos / 1000.0,
+                    s.peakEnemies);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package de.felixstaude.roguelike.sim;
+
+import de.felixstaude.roguelike.items.ItemRarity;
+import de.felixstaude.roguelike.shop.ShopEconomy;
+import de.felixstaude.roguelike.stats.Stat;
+import de.felixstaude.roguelike.stats.StatRules;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless Monte-Carlo-Simulation der Shop-Ökonomie (ohne Swing).
+ * Treibt {@link ShopEconomy} pro Run über alle Waves mit einem einfachen Bot
+ * (kauft das seltenste bezahlbare Angebot, rerollt begrenzt) und aggregiert je Wave und Luck.
+ *
+ * <p>Aufruf: {@code mvn exec:java -Dexec.mainClass=de.felixstaude.roguelike.sim.ShopSimulator
+ * -Dexec.args="runs=1000000 waves=20 luck=0,25,50 seed=42"}
+ *
+ * <p>Annahmen: Gold-Einkommen pro Wave = {@code gold + growth * (wave-1)}; Luck/Harvesting
+ * wirken wie gekaufte Items es vorgeben (Start-Luck + LUCK_FLAT).
+ */
+public final class ShopSimulator {
+
+    /** Parameter eines Simulationslaufs. */
+    public static final class Config {
+        public long seed = 42L;
+        public int runs = 100_000;
+        public int waves = 20;
+        public int[] lucks = {0, 25, 50};
+        public int goldPerWave = 30;
+        public int goldGrowth = 6;
+        public int maxRerollsPerPhase = 3;
+        public int threads = Runtime.getRuntime().availableProcessors();
+        public String out = null;
+
+        static Config parse(String[] args) {
+            Config c = new Config();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq <= 0) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+                String key = arg.substring(0, eq);
+                String value = arg.substring(eq + 1);
+                switch (key) {
+                    case "seed" -> c.seed = Long.parseLong(value);
+                    case "runs" -> c.runs = Integer.parseInt(value);
+                    case "waves" -> c.waves = Integer.parseInt(value);
+                    case "luck" -> {
+                        String[] parts = value.split(",");
+                        c.lucks = new int[parts.length];
+                        for (int i = 0; i < parts.length; i++) c.lucks[i] = Integer.parseInt(parts[i].trim());
+                    }
+                    case "gold" -> c.goldPerWave = Integer.parseInt(value);
+                    case "growth" -> c.goldGrowth = Integer.parseInt(value);
+                    case "rerolls" -> c.maxRerollsPerPhase = Integer.parseInt(value);
+                    case "threads" -> c.threads = Math.max(1, Integer.parseInt(value));
+                    case "out" -> c.out = value;
+                    default -> throw new IllegalArgumentException("Unknown option: " + key);
+                }
+            }
+            return c;
+        }
+    }
+
+    /** Aufsummierte Kennzahlen einer (Luck, Wave)-Zelle. */
+    static final class Cell {
+        long phases;
+        final long[] rarity = new long[ItemRarity.values().length];
+        long offersSeen;
+        long uniqueOffers;
+        long phasesWithUnique;
+        long rerolls;
+        long rerollGold;
+        long purchases;
+        long buyGold;
+
+        void merge(Cell o) {
+            phases += o.phases;
+            for (int i = 0; i < rarity.length; i++) rarity[i] += o.rarity[i];
+            offersSeen += o.offersSeen;
+            uniqueOffers += o.uniqueOffers;
+            phasesWithUnique += o.phasesWithUnique;
+            rerolls += o.rerolls;
+            rerollGold += o.rerollGold;
+            purchases += o.purchases;
+            buyGold += o.buyGold;
+        }
+    }
+
+    private final Config config;
+
+    public ShopSimulator(Config config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.parse(args);
+        long start = System.nanoTime();
+        Cell[][] result = new ShopSimulator(config).run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        if (config.out != null) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(Path.of(config.out)), false, "UTF-8")) {
+                writeReport(out, config, result, seconds);
+            }
+        } else {
+            writeReport(System.out, config, result, seconds);
+        }
+    }
+
+    /** Führt alle Runs parallel aus; Ergebnis indiziert [luckIndex][wave-1]. */
+    public Cell[][] run() throws InterruptedException, ExecutionException {
+        int chunks = Math.max(1, Math.min(config.runs, config.threads * 4));
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.threads);
+        try {
+            List<Future<Cell[][]>> futures = new ArrayList<>();
+            // Ein Strom pro Run, in Run-Reihenfolge abgeleitet: das Ergebnis hängt nur von seed und runs ab,
+            // nicht von threads bzw. der Chunk-Aufteilung
+            SplittableRandom root = new SplittableRandom(config.seed);
+            int base = config.runs / chunks;
+            int rest = config.runs % chunks;
+            for (int i = 0; i < chunks; i++) {
+                SplittableRandom[] streams = new SplittableRandom[base + (i < rest ? 1 : 0)];
+                for (int r = 0; r < streams.length; r++) streams[r] = root.split();
+                futures.add(pool.submit(() -> simulateChunk(streams)));
+            }
+            Cell[][] total = newCells();
+            for (Future<Cell[][]> f : futures) {
+                Cell[][] part = f.get();
+                for (int l = 0; l < total.length; l++) {
+                    for (int w = 0; w < total[l].length; w++) total[l][w].merge(part[l][w]);
+                }
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Cell[][] newCells() {
+        Cell[][] cells = new Cell[config.lucks.length][config.waves];
+        for (Cell[] row : cells) {
+            for (int w = 0; w < row.length; w++) row[w] = new Cell();
+        }
+        return cells;
+    }
+
+    private Cell[][] simulateChunk(SplittableRandom[] streams) {
+        Cell[][] cells = newCells();
+        ShopEconomy economy = new ShopEconomy(); // je Chunk einmal; Alias-Caches bleiben warm
+        for (SplittableRandom random : streams) {
+            for (int l = 0; l < config.lucks.length; l++) {
+                economy.resetRun(random);
+                simulateRun(economy, config.lucks[l], cells[l]);
+            }
+        }
+        return cells;
+    }
+
+    private void simulateRun(ShopEconomy economy, int startLuck, Cell[] perWave) {
+        int gold = 0;
+        for (int wave = 1; wave <= config.waves; wave++) {
+            Cell cell = perWave[wave - 1];
+            gold += config.goldPerWave + config.goldGrowth * (wave - 1);
+
+            economy.openPhase(luck(economy, startLuck), harvesting(economy));
+            cell.phases++;
+            boolean sawUnique = record(economy, cell);
+
+            while (true) {
+                int pick = bestAffordable(economy, gold);
+                if (pick >= 0) {
+                    ShopEconomy.PurchaseResult result = economy.purchase(pick, gold);
+                    if (result.success) {
+                        gold -= result.goldSpent;
+                        cell.purchases++;
+                        cell.buyGold += result.goldSpent;
+                        continue;
+                    }
+                }
+                int cost = economy.getRerollCost();
+                if (economy.getRerollsThisPhase() >= config.maxRerollsPerPhase || gold < cost) break;
+                gold -= cost;
+                cell.rerolls++;
+                cell.rerollGold += cost;
+                economy.reroll(luck(economy, startLuck), harvesting(economy));
+                sawUnique |= record(economy, cell);
+            }
+            if (sawUnique) cell.phasesWithUnique++;
+            economy.stashLockedForNextShop();
+        }
+    }
+
+    private static int luck(ShopEconomy economy, int startLuck) {
+        return StatRules.effectiveLuck(startLuck + economy.getPassiveStats().get(Stat.LUCK_FLAT));
+    }
+
+    private static int harvesting(ShopEconomy economy) {
+        return StatRules.effectiveHarvesting(economy.getPassiveStats().get(Stat.HARVESTING_FLAT));
+    }
+
+    /** Zählt die aktuell sichtbaren Angebote; true, wenn ein (noch kaufbares) Unique dabei ist. */
+    private static boolean record(ShopEconomy economy, Cell cell) {
+        boolean unique = false;
+        for (ShopEconomy.Offer offer : economy.getOffers()) {
+            cell.offersSeen++;
+            cell.rarity[offer.rarity.ordinal()]++;
+            if (offer.item != null && offer.item.unique && !economy.isSoldOut(offer)) {
+                cell.uniqueOffers++;
+                unique = true;
+            }
+        }
+        return unique;
+    }
+
+    /** Seltenstes bezahlbares Angebot (bei Gleichstand das günstigere), sonst -1. */
+    private static int bestAffordable(ShopEconomy economy, int gold) {
+        List<ShopEconomy.Offer> offers = economy.getOffers();
+        int best = -1;
+        int bestRank = -1;
+        int bestPrice = Integer.MAX_VALUE;
+        for (int i = 0; i < offers.size(); i++) {
+            ShopEconomy.Offer offer = offers.get(i);
+            if (economy.isSoldOut(offer)) continue;
+            int price = economy.applyDiscounts(offer.price);
+            if (price > gold) continue;
+            int rank = offer.rarity.rank();
+            if (rank > bestRank || (rank == bestRank && price < bestPrice)) {
+                best = i;
+                bestRank = rank;
+                bestPrice = price;
+            }
+        }
+        return best;
+    }
+
+    static void writeReport(PrintStream out, Config config, Cell[][] cells, double seconds) {
+        out.printf(Locale.ROOT, "Shop economy simulation: %d runs x %d waves, seed=%d, threads=%d (%.1fs)%n",
+                config.runs, config.waves, config.seed, config.threads, seconds);
+        out.printf(Locale.ROOT, "Income model: %d + %d * (wave-1) gold, max %d rerolls/phase%n%n",
+                config.goldPerWave, config.goldGrowth, config.maxRerollsPerPhase);
+        for (int l = 0; l < config.lucks.length; l++) {
+            out.printf(Locale.ROOT, "== Luck %d ==%n", config.lucks[l]);
+            out.printf(Locale.ROOT, "%4s %7s %7s %7s %7s %8s %9s %9s %9s%n",
+                    "wave", "common", "uncomm", "rare", "epic", "rerolls", "rerollG", "unique%", "buyG");
+            for (int w = 0; w < config.waves; w++) {
+                Cell c = cells[l][w];
+                double seen = Math.max(1, c.offersSeen);
+                double phases = Math.max(1, c.phases);
+                out.printf(Locale.ROOT, "%4d %6.2f%% %6.2f%% %6.2f%% %6.2f%% %8.2f %9.2f %8.2f%% %9.2f%n",
+                        w + 1,
+                        100.0 * c.rarity[ItemRarity.COMMON.ordinal()] / seen,
+                        100.0 * c.rarity[ItemRarity.UNCOMMON.ordinal()] / seen,
+                        100.0 * c.rarity[ItemRarity.RARE.ordinal()] / seen,
+                        100.0 * c.rarity[ItemRarity.EPIC.ordinal()] / seen,
+                        c.rerolls / phases,
+                        c.rerollGold / phases,
+                        100.0 * c.phasesWithUnique / phases,
+                        c.buyGold / phases);
+            }
+            out.println();
+        }
+    }
+}
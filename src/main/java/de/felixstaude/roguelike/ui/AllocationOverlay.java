@@ -0,0 +1,124 @@
+package de.felixstaude.roguelike.ui;
+
+import de.felixstaude.roguelike.metrics.AllocationTracker;
+import de.felixstaude.roguelike.metrics.AllocationTracker.Section;
+import de.felixstaude.roguelike.util.Colors;
+import de.felixstaude.roguelike.util.Draw;
+import de.felixstaude.roguelike.util.Fonts;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.Locale;
+
+/**
+ * Debug-Panel zu {@link AllocationTracker}: Allokation pro Tick/Render, die stärksten Sektionen, GC und ein
+ * Balkengraph pro Frame (Frames mit GC-Pause rot). Das Panel soll die eigene Messung nicht verfälschen:
+ * Texte werden höchstens einmal pro Sekunde neu formatiert (so oft ändern sich die Mittelwerte ohnehin),
+ * dazwischen zeichnet es nur gecachte Strings und alloziert nichts.
+ */
+public final class AllocationOverlay {
+    private static final long REFRESH_NANOS = 1_000_000_000L;
+    private static final int TOP_SECTIONS = 3;
+    private static final int MAX_ROWS = 5 + TOP_SECTIONS;
+    private static final int PADDING = 16;
+    private static final int GRAPH_H = 48;
+    private static final Color PANEL_BG = new Color(10, 14, 24, 220);
+    private static final Color GRAPH_BG = new Color(34, 38, 52);
+    private static final Font FONT = Fonts.regular(13);
+
+    private final String[] labels = new String[MAX_ROWS];
+    private final String[] values = new String[MAX_ROWS];
+    private final Section[] top = new Section[TOP_SECTIONS];
+    private final Rectangle panel = new Rectangle();
+    private int rows = 0;
+    private long refreshedAt = 0;
+    private boolean stale = true;
+
+    /**
+     * Zeichnet das Panel rechtsbündig unter {@code above}.
+     *
+     * @return die Panel-Grenzen (wiederverwendete Instanz, nur bis zum nächsten Aufruf gültig)
+     */
+    public Rectangle draw(Graphics2D g, Rectangle above, AllocationTracker alloc) {
+        g.setFont(FONT);
+        FontMetrics metrics = g.getFontMetrics();
+        int lineHeight = metrics.getHeight();
+
+        int frames = alloc.frameCount();
+        long max = 1;
+        for (int i = 0; i < frames; i++) max = Math.max(max, alloc.frameBytes(i));
+
+        long now = System.nanoTime();
+        if (stale || now - refreshedAt >= REFRESH_NANOS) {
+            refresh(alloc, max);
+            refreshedAt = now;
+            stale = false;
+        }
+
+        int width = Math.max(above.width, 220);
+        int height = PADDING * 2 + rows * lineHeight + 8 + GRAPH_H;
+        panel.setBounds(above.x + above.width - width, above.y + above.height + 8, width, height);
+        Draw.drawPanel(g, panel, 18, PANEL_BG, Colors.PANEL_BORDER);
+
+        int textX = panel.x + PADDING;
+        int valueX = panel.x + panel.width - PADDING;
+        int baseline = panel.y + PADDING + metrics.getAscent();
+        for (int r = 0; r < rows; r++) {
+            g.setColor(Colors.TEXT_SECONDARY);
+            g.drawString(labels[r], textX, baseline);
+            g.setColor(Colors.TEXT_PRIMARY);
+            g.drawString(values[r], valueX - metrics.stringWidth(values[r]), baseline);
+            baseline += lineHeight;
+        }
+
+        // Balken pro Frame (Ticks + Render), auf das Maximum der Historie skaliert
+        int gx = textX;
+        int gy = panel.y + panel.height - PADDING - GRAPH_H;
+        int gw = panel.width - PADDING * 2;
+        g.setColor(GRAPH_BG);
+        g.fillRect(gx, gy, gw, GRAPH_H);
+        double barW = gw / (double) AllocationTracker.HISTORY;
+        int offset = AllocationTracker.HISTORY - frames;
+        for (int i = 0; i < frames; i++) {
+            int bx = gx + (int) ((offset + i) * barW);
+            int bw = Math.max(1, (int) ((offset + i + 1) * barW) - (int) ((offset + i) * barW));
+            if (alloc.frameHadGc(i)) {
+                g.setColor(Colors.DANGER);
+                g.fillRect(bx, gy, bw, GRAPH_H);
+            } else {
+                int bh = (int) Math.round(GRAPH_H * alloc.frameBytes(i) / (double) max);
+                g.setColor(Colors.ACCENT);
+                g.fillRect(bx, gy + GRAPH_H - bh, bw, bh);
+            }
+        }
+        return panel;
+    }
+
+    /** Erzwingt neue Texte beim nächsten Zeichnen (z.B. nach dem Einschalten des Trackers). */
+    public void invalidate() {
+        stale = true;
+    }
+
+    private void refresh(AllocationTracker alloc, long peak) {
+        rows = 0;
+        row("Alloc/tick:", AllocationTracker.formatBytes(alloc.bytesPerTick()));
+        row("Alloc/render:", AllocationTracker.formatBytes(alloc.lastRenderBytes()));
+        int n = alloc.topSections(top);
+        for (int i = 0; i < n; i++) {
+            row("  " + top[i].label + ":", AllocationTracker.formatBytes(alloc.bytesPerTick(top[i])));
+        }
+        row("GC:", String.format(Locale.ROOT, "%d (%d ms), last %d ms",
+                alloc.gcCount(), alloc.gcMillis(), alloc.lastGcMillis()));
+        row("GC frames:", Integer.toString(alloc.gcFrames()));
+        row("Peak/frame:", AllocationTracker.formatBytes(peak));
+    }
+
+    private void row(String label, String value) {
+        labels[rows] = label;
+        values[rows] = value;
+        rows++;
+    }
+}
@@ -1,9 +1,11 @@
 package de.felixstaude.roguelike.ui;
 
+import de.felixstaude.roguelike.core.FrameStats;
 import de.felixstaude.roguelike.entity.Player;
 import de.felixstaude.roguelike.util.Colors;
 import de.felixstaude.roguelike.util.Draw;
 import de.felixstaude.roguelike.util.Fonts;
+import de.felixstaude.roguelike.util.RenderQuality;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
@@ -80,9 +82,11 @@ public final class HUD {
         g.drawOval(mx - size, my - size, size * 2, size * 2);
     }
 
-    public static void drawDebug(Graphics2D g, Rectangle viewport, double fps, double ups,
-                                 int bulletCount, int particleCount, Player player) {
-        Draw.globalHints(g);
+    /** @return the panel bounds, so further debug panels can stack below it */
+    public static Rectangle drawDebug(Graphics2D g, Rectangle viewport, double fps, double ups,
+                                 int enemyCount, int bulletCount, int particleCount, String effects,
+                                 RenderQuality quality, String worldRenderer, Player player) {
+        Draw.globalHints(g, quality);
 
         int margin = 16;
         int padding = 16;
@@ -99,8 +103,12 @@ public final class HUD {
         String[][] rows = {
                 {"FPS", String.format(Locale.ROOT, "%.1f", fps)},
                 {"UPS", String.format(Locale.ROOT, "%.1f", ups)},
+                {"Enemies", Integer.toString(enemyCount)},
                 {"Bullets", Integer.toString(bulletCount)},
                 {"Particles", Integer.toString(particleCount)},
+                {"Effects", effects},
+                {"Quality (F4)", quality.describe()},
+                {"World (F5)", worldRenderer},
                 {"HP", String.format(Locale.ROOT, "%.0f / %.0f", player.hp, player.maxHp)},
                 {"Pos", String.format(Locale.ROOT, "%.1f, %.1f", player.pos.x, player.pos.y)},
                 {"Vel", String.format(Locale.ROOT, "%.1f, %.1f", player.vel.x, player.vel.y)},
@@ -144,10 +152,74 @@ public final class HUD {
             g.drawString(row[1], valueX, baseline);
             baseline += lineHeight;
         }
+        return panel;
     }
 
-    public static void drawGameOverOverlay(Graphics2D g, int width, int height, Rectangle restartButton) {
-        Draw.globalHints(g);
+    /**
+     * Perzentile (p50 / p99 / p99.9 / max in ms) der laufenden Wave für Frame-Abstand, Tick und Render,
+     * darunter eine Sparkline der letzten Frame-Abstände mit der 60-FPS-Linie.
+     */
+    public static Rectangle drawFrameTimes(Graphics2D g, Rectangle above, FrameStats stats) {
+        int padding = 16;
+        int graphH = 40;
+        g.setFont(Fonts.regular(13));
+        var metrics = g.getFontMetrics();
+        int lineHeight = metrics.getHeight();
+
+        String[][] rows = {
+                {"Wave " + stats.wave() + " ms", "p50 / p99 / p99.9 / max"},
+                {"Frame", FrameStats.summary(stats.frame())},
+                {"Tick", FrameStats.summary(stats.tick())},
+                {"Render", FrameStats.summary(stats.render())}
+        };
+
+        int width = Math.max(above.width, 260);
+        int height = padding * 2 + rows.length * lineHeight + 8 + graphH;
+        Rectangle panel = new Rectangle(above.x + above.width - width, above.y + above.height + 8, width, height);
+        Draw.drawPanel(g, panel, 18, new Color(10, 14, 24, 220), Colors.PANEL_BORDER);
+
+        int textX = panel.x + padding;
+        int valueX = panel.x + panel.width - padding;
+        int baseline = panel.y + padding + metrics.getAscent();
+        for (String[] row : rows) {
+            g.setColor(Colors.TEXT_SECONDARY);
+            g.drawString(row[0] + ":", textX, baseline);
+            g.setColor(Colors.TEXT_PRIMARY);
+            g.drawString(row[1], valueX - metrics.stringWidth(row[1]), baseline);
+            baseline += lineHeight;
+        }
+
+        // Sparkline: Skala mindestens 33 ms, damit ruhige Frames flach bleiben
+        int gx = textX;
+        int gy = panel.y + panel.height - padding - graphH;
+        int gw = panel.width - padding * 2;
+        g.setColor(new Color(34, 38, 52));
+        g.fillRect(gx, gy, gw, graphH);
+        int n = stats.recentCount();
+        long max = 33_333_333L;
+        for (int i = 0; i < n; i++) max = Math.max(max, stats.recentNanos(i));
+        int budgetY = gy + graphH - (int) Math.round(graphH * 16_666_667.0 / max);
+        g.setColor(Colors.TEXT_MUTED);
+        g.drawLine(gx, budgetY, gx + gw - 1, budgetY);
+        double step = (gw - 1) / (double) (FrameStats.HISTORY - 1);
+        int offset = FrameStats.HISTORY - n;
+        int px = 0;
+        int py = 0;
+        for (int i = 0; i < n; i++) {
+            long nanos = stats.recentNanos(i);
+            int x = gx + (int) Math.round((offset + i) * step);
+            int y = gy + graphH - 1 - (int) Math.round((graphH - 1) * nanos / (double) max);
+            g.setColor(nanos > 33_333_333L ? Colors.DANGER : nanos > 16_666_667L * 1.1 ? Colors.WARNING : Colors.SUCCESS);
+            if (i > 0) g.drawLine(px, py, x, y);
+            px = x;
+            py = y;
+        }
+        return panel;
+    }
+
+    public static void drawGameOverOverlay(Graphics2D g, int width, int height, Rectangle restartButton,
+                                           RenderQuality quality) {
+        Draw.globalHints(g, quality);
 
         g.setColor(new Color(0, 0, 0, 200));
         g.fillRect(0, 0, width, height);
@@ -0,0 +1,86 @@
+package de.felixstaude.roguelike.util;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker/Vose alias table for O(1) weighted index sampling.
+ * Build once per weight set, then {@link #sample(RandomGenerator)} without allocating.
+ */
+public final class AliasTable {
+    private final double[] prob;
+    private final int[] alias;
+
+    private AliasTable(double[] prob, int[] alias) {
+        this.prob = prob;
+        this.alias = alias;
+    }
+
+    public static AliasTable of(int[] weights) {
+        double[] w = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) w[i] = weights[i];
+        return of(w);
+    }
+
+    public static AliasTable of(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+        double total = 0.0;
+        for (double w : weights) total += Math.max(0.0, w);
+
+        double[] prob = new double[n];
+        int[] alias = new int[n];
+        if (total <= 0.0) {
+            // All weights zero -> uniform
+            Arrays.fill(prob, 1.0);
+            for (int i = 0; i < n; i++) alias[i] = i;
+            return new AliasTable(prob, alias);
+        }
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(0.0, weights[i]) * n / total;
+            if (scaled[i] < 1.0) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            prob[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) small[smallCount++] = l;
+            else large[largeCount++] = l;
+        }
+        // Leftovers (incl. rounding error) are full buckets
+        while (largeCount > 0) {
+            int l = large[--largeCount];
+            prob[l] = 1.0;
+            alias[l] = l;
+        }
+        while (smallCount > 0) {
+            int s = small[--smallCount];
+            prob[s] = 1.0;
+            alias[s] = s;
+        }
+        return new AliasTable(prob, alias);
+    }
+
+    /** Number of entries in the table. */
+    public int size() {
+        return prob.length;
+    }
+
+    /** Picks an index with probability proportional to its weight. */
+    public int sample(RandomGenerator random) {
+        int i = random.nextInt(prob.length);
+        return random.nextDouble() < prob[i] ? i : alias[i];
+    }
+}
@@ -0,0 +1,213 @@
+package de.felixstaude.roguelike.util;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Pre-decoded icon bundle: one file with premultiplied ARGB pixels for every PNG plus an index,
+ * so loading an icon is a bulk copy instead of a PNG decode.
+ *
+ * <p>Built by {@link #main} during {@code mvn package} (profile {@code icon-bundle}, phase prepare-package,
+ * active only when {@code src/main/resources} exists) into {@code icons.bundle} on the classpath. At runtime the bundle is
+ * memory-mapped when it is a plain file and read once otherwise (e.g. inside a jar). The location can be
+ * overridden with the system property {@code roguelike.assetBundle}.
+ *
+ * <p>Layout (big endian): magic, version, entry count, then per entry
+ * {@code utf-8 path (u16 length + bytes), width, height, pixel offset (long)}; pixel data is 4-byte aligned.
+ */
+public final class AssetBundle {
+    public static final String RESOURCE = "/icons.bundle";
+    private static final int MAGIC = 0x524C4142; // "RLAB"
+    private static final int VERSION = 1;
+
+    private record Entry(int width, int height, int offset) {
+    }
+
+    private final ByteBuffer data;
+    private final Map<String, Entry> entries;
+
+    private AssetBundle(ByteBuffer data, Map<String, Entry> entries) {
+        this.data = data;
+        this.entries = entries;
+    }
+
+    /** Loads the configured bundle, or returns null if there is none or it is unreadable. */
+    public static AssetBundle open() {
+        try {
+            String override = System.getProperty("roguelike.assetBundle");
+            if (override != null) {
+                return map(Path.of(override));
+            }
+            URL url = AssetBundle.class.getResource(RESOURCE);
+            if (url == null) {
+                return null;
+            }
+            if ("file".equals(url.getProtocol())) {
+                return map(Path.of(url.toURI()));
+            }
+            try (InputStream in = url.openStream()) {
+                return parse(ByteBuffer.wrap(in.readAllBytes()));
+            }
+        } catch (IOException | URISyntaxException | RuntimeException ex) {
+            System.err.println("Asset bundle unavailable, falling back to PNG decoding: " + ex);
+            return null;
+        }
+    }
+
+    private static AssetBundle map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static AssetBundle parse(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.getInt() != MAGIC) throw new IOException("Not an asset bundle");
+        int version = buffer.getInt();
+        if (version != VERSION) throw new IOException("Unsupported asset bundle version " + version);
+        int count = buffer.getInt();
+        Map<String, Entry> entries = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(name);
+            String path = new String(name, StandardCharsets.UTF_8);
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            long offset = buffer.getLong();
+            // w * h must fit an int[] and the pixels must lie inside the buffer (which is at most 2 GB)
+            if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE / 4) {
+                throw new IOException("Bad size " + width + "x" + height + " for " + path);
+            }
+            if (offset < 0 || (offset & 3) != 0 || offset + 4L * width * height > buffer.capacity()) {
+                throw new IOException("Bad pixel offset " + offset + " for " + path);
+            }
+            entries.put(path, new Entry(width, height, (int) offset));
+        }
+        return new AssetBundle(buffer, Collections.unmodifiableMap(entries));
+    }
+
+    public boolean contains(String path) {
+        return entries.containsKey(path);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Image for a classpath path such as {@code /icons/items/x.png}, or null if it is not bundled.
+     * The pixels are copied in bulk into a managed {@code TYPE_INT_ARGB_PRE} image; wrapping the mapped
+     * buffer directly would need a custom DataBuffer, which Java2D cannot accelerate.
+     */
+    public BufferedImage image(String path) {
+        Entry e = entries.get(path);
+        if (e == null) {
+            return null;
+        }
+        BufferedImage image = new BufferedImage(e.width, e.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        IntBuffer src = data.duplicate().order(ByteOrder.BIG_ENDIAN).position(e.offset).asIntBuffer();
+        src.get(pixels, 0, e.width * e.height);
+        return image;
+    }
+
+    /**
+     * Build step: {@code AssetBundle <resourcesDir> <outFile>}. Bundles every PNG below the resources
+     * directory under its classpath path.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AssetBundle <resourcesDir> <outFile>");
+            System.exit(2);
+        }
+        Path root = Path.of(args[0]);
+        Path out = Path.of(args[1]);
+        if (!Files.isDirectory(root)) {
+            throw new NoSuchFileException(root.toString(), null, "not a resources directory");
+        }
+        List<Path> pngs;
+        try (Stream<Path> walk = Files.walk(root)) {
+            pngs = walk.filter(p -> p.getFileName().toString().endsWith(".png")).sorted().toList();
+        }
+        List<String> names = new ArrayList<>();
+        List<BufferedImage> images = new ArrayList<>();
+        for (Path png : pngs) {
+            BufferedImage decoded = ImageIO.read(png.toFile());
+            if (decoded == null) {
+                System.err.println("Skipping unreadable image " + png);
+                continue;
+            }
+            names.add("/" + root.relativize(png).toString().replace('\\', '/'));
+            images.add(toPremultiplied(decoded));
+        }
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(out))) {
+            write(file, names, images);
+        }
+        System.out.println("Bundled " + names.size() + " images into " + out + " (" + Files.size(out) / 1024 + " KB)");
+    }
+
+    private static BufferedImage toPremultiplied(BufferedImage source) {
+        BufferedImage pre = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = pre.createGraphics();
+        try {
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return pre;
+    }
+
+    private static void write(OutputStream target, List<String> names, List<BufferedImage> images) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        long headerSize = 12;
+        for (String name : names) headerSize += 2 + name.getBytes(StandardCharsets.UTF_8).length + 4 + 4 + 8;
+        long pixelStart = (headerSize + 3) & ~3L;
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(names.size());
+        long offset = pixelStart;
+        for (int i = 0; i < names.size(); i++) {
+            byte[] name = names.get(i).getBytes(StandardCharsets.UTF_8);
+            BufferedImage image = images.get(i);
+            out.writeShort(name.length);
+            out.write(name);
+            out.writeInt(image.getWidth());
+            out.writeInt(image.getHeight());
+            out.writeLong(offset);
+            offset += 4L * image.getWidth() * image.getHeight();
+        }
+        for (long pad = headerSize; pad < pixelStart; pad++) out.writeByte(0);
+        for (BufferedImage image : images) {
+            for (int pixel : ((DataBufferInt) image.getRaster().getDataBuffer()).getData()) out.writeInt(pixel);
+        }
+        out.flush();
+    }
+}
@@ -16,16 +16,14 @@ import java.awt.image.BufferedImage;
 public final class Draw {
     private Draw() {}
 
-    /** High-quality render hints for shapes & text. */
-    public static void globalHints(Graphics2D g) {
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,       RenderingHints.VALUE_ANTIALIAS_ON);
-        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,  RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        g.setRenderingHint(RenderingHints.KEY_RENDERING,           RenderingHints.VALUE_RENDER_QUALITY);
+    /** Render hints for shapes & text according to the current tier of {@code quality}. */
+    public static void globalHints(Graphics2D g, RenderQuality quality) {
+        quality.apply(g);
     }
 
     /** Back-compat alias used by older code paths. */
-    public static void applyQualityHints(Graphics2D g) {
-        globalHints(g);
+    public static void applyQualityHints(Graphics2D g, RenderQuality quality) {
+        globalHints(g, quality);
     }
 
     public static void fillRounded(Graphics2D g, Rectangle r, int arc) {
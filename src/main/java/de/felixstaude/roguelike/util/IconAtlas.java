@@ -0,0 +1,161 @@
+package de.felixstaude.roguelike.util;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * All icons of one target size packed into a single image. Each tile is pre-masked to a rounded
+ * rectangle (anti-aliased) and carries its border, so drawing an icon is one 1:1 sub-image blit
+ * without clip or hint changes.
+ *
+ * <p>Building never decodes on the calling thread: icons that are not decoded yet start as placeholder
+ * tiles and are queued in {@link ImageCache}. {@link #draw} swaps in the real tile once it is ready and
+ * bumps icons that are actually drawn to {@link ImageCache.Priority#VISIBLE}.
+ */
+public final class IconAtlas {
+    private static final int GUTTER = 1; // transparent spacing, no bleeding under scaled transforms
+
+    private final BufferedImage image;
+    private final int tileSize;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Set<String> pending = new HashSet<>();
+    private final int columns;
+    private final Color border;
+    private final RoundRectangle2D.Float mask;
+    private final RoundRectangle2D.Float outline;
+    private final BufferedImage tile;
+
+    private IconAtlas(BufferedImage image, int tileSize, int arc, Color border, int columns) {
+        this.image = image;
+        this.tileSize = tileSize;
+        this.columns = columns;
+        this.border = border;
+        this.mask = new RoundRectangle2D.Float(0, 0, tileSize, tileSize, arc, arc);
+        this.outline = new RoundRectangle2D.Float(0.6f, 0.6f, tileSize - 1.2f, tileSize - 1.2f, arc, arc);
+        this.tile = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Packs all {@code paths} (duplicates once). Decoded icons are scaled and masked right away, the rest
+     * get a placeholder tile and are decoded and scaled in the background at {@link ImageCache.Priority#PRELOAD}.
+     * Missing resources end up as the {@link ImageCache} placeholder.
+     */
+    public static IconAtlas build(Collection<String> paths, int tileSize, int arc, Color border) {
+        LinkedHashSet<String> unique = new LinkedHashSet<>(paths);
+        int count = Math.max(1, unique.size());
+        int columns = (int) Math.ceil(Math.sqrt(count));
+        int rows = (count + columns - 1) / columns;
+        int stride = tileSize + 2 * GUTTER;
+        BufferedImage atlas = new BufferedImage(columns * stride, rows * stride, BufferedImage.TYPE_INT_ARGB);
+        IconAtlas result = new IconAtlas(atlas, tileSize, arc, border, columns);
+
+        int index = 0;
+        for (String path : unique) {
+            result.slots.put(path, index);
+            BufferedImage icon = ImageCache.getScaledIfReady(path, tileSize, tileSize, ImageCache.Priority.PRELOAD);
+            if (icon == null) {
+                result.pending.add(path);
+                icon = ImageCache.getOrPlaceholder(path, tileSize, tileSize, ImageCache.Priority.PRELOAD);
+            }
+            result.writeTile(index++, icon);
+        }
+        return result;
+    }
+
+    private void writeTile(int index, BufferedImage icon) {
+        renderTile(tile, icon, mask, outline, border);
+        Graphics2D ag = image.createGraphics();
+        try {
+            ag.setComposite(AlphaComposite.Src);
+            ag.drawImage(tile, tileX(index), tileY(index), null);
+        } finally {
+            ag.dispose();
+        }
+    }
+
+    private static void renderTile(BufferedImage tile, BufferedImage icon, RoundRectangle2D mask,
+                                   RoundRectangle2D outline, Color border) {
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, tile.getWidth(), tile.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            if (icon != null) g.drawImage(icon, 0, 0, tile.getWidth(), tile.getHeight(), null);
+
+            // Keep only the rounded area; AA gives soft corners instead of the hard clip edge.
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setComposite(AlphaComposite.DstIn);
+            g.setColor(Color.WHITE);
+            g.fill(mask);
+
+            if (border != null) {
+                g.setComposite(AlphaComposite.SrcOver);
+                g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+                g.setColor(border);
+                g.setStroke(new BasicStroke(1.2f));
+                g.draw(outline);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    public boolean contains(String path) {
+        return slots.containsKey(path);
+    }
+
+    /** Blits the tile for {@code path} at (x, y). Returns false if the path is not in this atlas. */
+    public boolean draw(Graphics2D g, String path, int x, int y) {
+        Integer slot = slots.get(path);
+        if (slot == null) return false;
+        if (!pending.isEmpty() && pending.contains(path)) refresh(path, slot);
+        int sx = tileX(slot);
+        int sy = tileY(slot);
+        g.drawImage(image, x, y, x + tileSize, y + tileSize, sx, sy, sx + tileSize, sy + tileSize, null);
+        return true;
+    }
+
+    /** Pending tile: swap in the decoded icon if ready, otherwise move it up the decode queue. */
+    private void refresh(String path, int slot) {
+        BufferedImage icon = ImageCache.getScaledIfReady(path, tileSize, tileSize, ImageCache.Priority.VISIBLE);
+        if (icon == null) return;
+        pending.remove(path);
+        writeTile(slot, icon);
+    }
+
+    /** Number of tiles still showing a placeholder. */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public int tileSize() {
+        return tileSize;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public BufferedImage image() {
+        return image;
+    }
+
+    private int tileX(int index) {
+        return (index % columns) * (tileSize + 2 * GUTTER) + GUTTER;
+    }
+
+    private int tileY(int index) {
+        return (index / columns) * (tileSize + 2 * GUTTER) + GUTTER;
+    }
+}
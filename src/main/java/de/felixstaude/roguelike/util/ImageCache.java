@@ -6,19 +6,135 @@ import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Simple classpath image cache with optional scaling and placeholder support.
+ * Classpath image cache with optional scaling and placeholder support.
+ *
+ * <p>Originals are kept for the lifetime of the process (one per icon path). Scaled variants live in a
+ * byte-budgeted LRU; entries pushed out of the budget are demoted to soft references, so they can be
+ * revived cheaply until the GC actually needs the memory. The budget defaults to
+ * {@value #DEFAULT_MAX_MB} MB and can be set with {@code --image-cache-mb=N} or the system property
+ * {@code roguelike.imageCacheMb}.
+ *
+ * <p>Originals come from the pre-decoded {@link AssetBundle} if it contains them, otherwise from the PNG.
+ *
+ * <p>{@link #get(String)} decodes synchronously on the calling thread. Render code should use
+ * {@link #getOrPlaceholder} instead: it never blocks, queues the decode on a background thread and
+ * returns a placeholder until the image is ready. Requests are ordered by {@link Priority}, so icons
+ * that are on screen overtake a running {@link #preload}.
  */
 public final class ImageCache {
     private ImageCache() {
     }
 
+    public static final int DEFAULT_MAX_MB = 32;
+
     private static final Map<String, BufferedImage> ORIGINALS = new ConcurrentHashMap<>();
-    private static final Map<String, BufferedImage> SCALED = new ConcurrentHashMap<>();
     private static final String PLACEHOLDER = "/icons/placeholder.png";
+    private static final String FALLBACK_KEY = "#fallback";
+    private static final BufferedImage FALLBACK = checker();
+
+    /** Decode priority; lower ordinal runs first. */
+    public enum Priority { VISIBLE, PRELOAD }
+
+    // Async decoding: pending futures and the most urgent priority already queued per path.
+    private static final Map<String, CompletableFuture<BufferedImage>> LOADING = new ConcurrentHashMap<>();
+    private static final Map<String, Priority> QUEUED = new ConcurrentHashMap<>();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final AtomicLong COMPLETED = new AtomicLong();
+
+    private static final class Decoder {
+        // Single thread: decoding is I/O plus inflate, and it must not compete with the game loop.
+        static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "IconDecoder");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+    }
+
+    /** Decodes {@code path} and, if a size is given, also puts that scaled variant into the cache. */
+    private static final class DecodeTask implements Runnable, Comparable<DecodeTask> {
+        final String key;
+        final String path;
+        final int width;
+        final int height;
+        final Priority priority;
+        final long sequence = SEQUENCE.getAndIncrement();
+
+        DecodeTask(String key, String path, int width, int height, Priority priority) {
+            this.key = key;
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.priority = priority;
+        }
+
+        @Override
+        public void run() {
+            // A stale duplicate (re-queued at a higher priority) finds everything cached and does no work.
+            BufferedImage image = ORIGINALS.computeIfAbsent(path, ImageCache::loadOrPlaceholder);
+            CompletableFuture<BufferedImage> future = LOADING.remove(path);
+            if (future != null) future.complete(image);
+            if (width > 0 && !containsScaled(scaledKey(path, width, height))) {
+                scaled(path, image, width, height);
+            }
+            QUEUED.remove(key);
+            COMPLETED.incrementAndGet();
+        }
+
+        @Override
+        public int compareTo(DecodeTask o) {
+            int c = Integer.compare(priority.ordinal(), o.priority.ordinal());
+            return c != 0 ? c : Long.compare(sequence, o.sequence);
+        }
+    }
+
+    // Scaled variants; all access below is guarded by LOCK.
+    private static final Object LOCK = new Object();
+    private static final LinkedHashMap<String, BufferedImage> SCALED = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Map<String, SoftEntry> EVICTED = new HashMap<>();
+    private static final ReferenceQueue<BufferedImage> CLEARED = new ReferenceQueue<>();
+    private static long maxBytes = Long.getLong("roguelike.imageCacheMb", DEFAULT_MAX_MB) * 1024L * 1024L;
+    private static long usedBytes = 0;
+
+    private static long hits = 0;
+    private static long softHits = 0;
+    private static long misses = 0;
+    private static long evictions = 0;
+
+    private static final class SoftEntry extends SoftReference<BufferedImage> {
+        final String key;
+
+        SoftEntry(String key, BufferedImage image) {
+            super(image, CLEARED);
+            this.key = key;
+        }
+    }
+
+    /** Snapshot of the scaled-image cache counters. */
+    public record Stats(long hits, long softHits, long misses, long evictions,
+                        int entries, long usedBytes, long maxBytes) {
+        public double hitRate() {
+            long total = hits + softHits + misses;
+            return total == 0 ? 0.0 : (double) (hits + softHits) / total;
+        }
+    }
 
     public static BufferedImage get(String path) {
         String normalized = normalize(path);
@@ -30,11 +146,237 @@ public final class ImageCache {
         if (original == null) {
             return null;
         }
+        return scaled(normalize(path), original, width, height);
+    }
+
+    /** Decoded original, or null if it is not ready yet (queues the decode). Never blocks. */
+    public static BufferedImage getIfReady(String path, Priority priority) {
+        String normalized = normalize(path);
+        BufferedImage ready = ORIGINALS.get(normalized);
+        if (ready != null) {
+            return ready;
+        }
+        request(normalized, priority);
+        return null;
+    }
+
+    /**
+     * Scaled variant if it is already cached, otherwise null; decoding and scaling are queued on the
+     * background thread. Never blocks and never scales on the calling thread.
+     */
+    public static BufferedImage getScaledIfReady(String path, int width, int height, Priority priority) {
+        String normalized = normalize(path);
+        BufferedImage original = ORIGINALS.get(normalized);
+        if (original != null) {
+            if (original.getWidth() == width && original.getHeight() == height) {
+                return original;
+            }
+            BufferedImage cached = lookupScaled(scaledKey(normalized, width, height));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        enqueue(normalized, width, height, priority);
+        return null;
+    }
+
+    /** Like {@link #getScaledIfReady}, but returns a scaled placeholder instead of null. */
+    public static BufferedImage getOrPlaceholder(String path, int width, int height, Priority priority) {
+        BufferedImage image = getScaledIfReady(path, width, height, priority);
+        return image != null ? image : placeholder(width, height);
+    }
+
+    /** Queues a background decode; the future completes with the original (or the placeholder if missing). */
+    public static CompletableFuture<BufferedImage> request(String path, Priority priority) {
+        String normalized = normalize(path);
+        BufferedImage ready = ORIGINALS.get(normalized);
+        if (ready != null) {
+            return CompletableFuture.completedFuture(ready);
+        }
+        CompletableFuture<BufferedImage> future = LOADING.computeIfAbsent(normalized, k -> new CompletableFuture<>());
+        enqueue(normalized, 0, 0, priority);
+        if (ORIGINALS.containsKey(normalized)) {
+            // Decoded while the future was being registered; the task may already have run.
+            LOADING.remove(normalized, future);
+            future.complete(ORIGINALS.get(normalized));
+        }
+        return future;
+    }
+
+    private static void enqueue(String normalized, int width, int height, Priority priority) {
+        String key = width > 0 ? scaledKey(normalized, width, height) : normalized;
+        // Enqueue only if nothing at least as urgent is queued yet. A less urgent task left in the queue
+        // (or a racing duplicate) finds everything cached and returns without work.
+        Priority queued = QUEUED.get(key);
+        if (queued == null || priority.ordinal() < queued.ordinal()) {
+            QUEUED.put(key, priority);
+            Decoder.EXECUTOR.execute(new DecodeTask(key, normalized, width, height, priority));
+        }
+    }
+
+    /** Queues all paths at {@link Priority#PRELOAD}. */
+    public static void preload(Iterable<String> paths) {
+        for (String path : paths) {
+            request(path, Priority.PRELOAD);
+        }
+    }
+
+    public static boolean isReady(String path) {
+        return ORIGINALS.containsKey(normalize(path));
+    }
+
+    public static int pendingDecodes() {
+        return LOADING.size();
+    }
+
+    /** Number of finished background tasks; changes whenever something new may be ready to draw. */
+    public static long completedDecodes() {
+        return COMPLETED.get();
+    }
+
+    private static BufferedImage placeholder(int width, int height) {
+        BufferedImage placeholder = getScaledIfReady(PLACEHOLDER, width, height, Priority.VISIBLE);
+        if (placeholder != null) {
+            return placeholder;
+        }
+        // The built-in checker is 16x16, scaling it inline is cheap.
+        return scaled(FALLBACK_KEY, FALLBACK, width, height);
+    }
+
+    private static String scaledKey(String normalized, int width, int height) {
+        return normalized + "#" + width + "x" + height;
+    }
+
+    private static boolean containsScaled(String key) {
+        synchronized (LOCK) {
+            return SCALED.containsKey(key);
+        }
+    }
+
+    /** Cached or soft-revived variant, or null. Counts hits only; the caller decides what a miss is. */
+    private static BufferedImage lookupScaled(String key) {
+        synchronized (LOCK) {
+            purgeCleared();
+            BufferedImage cached = SCALED.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            SoftEntry soft = EVICTED.remove(key);
+            BufferedImage revived = soft != null ? soft.get() : null;
+            if (revived != null) {
+                softHits++;
+                insert(key, revived);
+                return revived;
+            }
+            return null;
+        }
+    }
+
+    private static BufferedImage scaled(String normalized, BufferedImage original, int width, int height) {
         if (original.getWidth() == width && original.getHeight() == height) {
             return original;
         }
-        String key = normalize(path) + "#" + width + "x" + height;
-        return SCALED.computeIfAbsent(key, k -> scale(original, width, height));
+        String key = scaledKey(normalized, width, height);
+        BufferedImage cached = lookupScaled(key);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (LOCK) {
+            misses++;
+        }
+        // Scale outside the lock; a concurrent miss on the same key just scales twice.
+        BufferedImage scaled = scale(original, width, height);
+        synchronized (LOCK) {
+            BufferedImage raced = SCALED.get(key);
+            if (raced != null) {
+                return raced;
+            }
+            insert(key, scaled);
+        }
+        return scaled;
+    }
+
+    /** Sets the byte budget for scaled variants and evicts immediately if it shrank. */
+    public static void setMaxBytes(long bytes) {
+        synchronized (LOCK) {
+            maxBytes = Math.max(0, bytes);
+            evictOverBudget();
+        }
+    }
+
+    public static void configureFromArgs(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--image-cache-mb=")) continue;
+            String v = arg.substring("--image-cache-mb=".length()).trim();
+            try {
+                setMaxBytes(Long.parseLong(v) * 1024L * 1024L);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid image cache size: " + v, ex);
+            }
+        }
+    }
+
+    /** Drops all scaled variants (strong and soft); originals stay loaded. */
+    public static void clearScaled() {
+        synchronized (LOCK) {
+            SCALED.clear();
+            EVICTED.clear();
+            usedBytes = 0;
+        }
+    }
+
+    public static Stats stats() {
+        synchronized (LOCK) {
+            return new Stats(hits, softHits, misses, evictions, SCALED.size(), usedBytes, maxBytes);
+        }
+    }
+
+    public static String describe() {
+        Stats s = stats();
+        return String.format(Locale.ROOT, "%d img %.1f/%d MB hit %.0f%% evict %d",
+                s.entries(), s.usedBytes() / (1024.0 * 1024.0), s.maxBytes() / (1024 * 1024),
+                s.hitRate() * 100.0, s.evictions());
+    }
+
+    private static void insert(String key, BufferedImage image) {
+        long bytes = bytes(image);
+        if (bytes > maxBytes) {
+            // Larger than the whole budget: only keep it softly.
+            EVICTED.put(key, new SoftEntry(key, image));
+            evictions++;
+            return;
+        }
+        BufferedImage previous = SCALED.put(key, image);
+        if (previous != null) {
+            usedBytes -= bytes(previous);
+        }
+        usedBytes += bytes;
+        evictOverBudget();
+    }
+
+    private static void evictOverBudget() {
+        Iterator<Map.Entry<String, BufferedImage>> it = SCALED.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, BufferedImage> eldest = it.next();
+            it.remove();
+            usedBytes -= bytes(eldest.getValue());
+            EVICTED.put(eldest.getKey(), new SoftEntry(eldest.getKey(), eldest.getValue()));
+            evictions++;
+        }
+    }
+
+    private static void purgeCleared() {
+        Reference<? extends BufferedImage> ref;
+        while ((ref = CLEARED.poll()) != null) {
+            SoftEntry entry = (SoftEntry) ref;
+            EVICTED.remove(entry.key, entry);
+        }
+    }
+
+    private static long bytes(BufferedImage image) {
+        // Every scaled variant is TYPE_INT_ARGB.
+        return 4L * image.getWidth() * image.getHeight();
     }
 
     private static String normalize(String path) {
@@ -56,7 +398,11 @@ public final class ImageCache {
         if (!PLACEHOLDER.equals(path)) {
             return loadOrPlaceholder(PLACEHOLDER);
         }
-        // Fallback placeholder (16x16 checker) if even the resource is missing.
+        return FALLBACK;
+    }
+
+    /** Fallback placeholder (16x16 checker) if even the resource is missing. */
+    private static BufferedImage checker() {
         BufferedImage fallback = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
         for (int y = 0; y < 16; y++) {
             for (int x = 0; x < 16; x++) {
@@ -68,7 +414,15 @@ public final class ImageCache {
         return fallback;
     }
 
+    private static final class Bundle {
+        static final AssetBundle INSTANCE = AssetBundle.open();
+    }
+
     private static BufferedImage load(String path) {
+        AssetBundle bundle = Bundle.INSTANCE;
+        if (bundle != null && bundle.contains(path)) {
+            return bundle.image(path);
+        }
         try (InputStream in = ImageCache.class.getResourceAsStream(path)) {
             if (in == null) {
                 return null;
@@ -1,9 +1,5 @@
 package de.felixstaude.roguelike.util;
 
-import java.util.List;
-import java.util.Random;
-import java.util.function.ToDoubleFunction;
-
 /**
  * Small math helper collection.
  */
@@ -22,28 +18,4 @@ public final class Mathx {
     public static double lerp(double a, double b, double t) {
         return a + (b - a) * t;
     }
-
-    public static <T> T weightedPick(List<T> values, ToDoubleFunction<T> weightFn, Random random) {
-        if (values.isEmpty()) {
-            throw new IllegalArgumentException("values must not be empty");
-        }
-        double total = 0.0;
-        double[] weights = new double[values.size()];
-        for (int i = 0; i < values.size(); i++) {
-            double w = Math.max(0.0, weightFn.applyAsDouble(values.get(i)));
-            weights[i] = w;
-            total += w;
-        }
-        if (total <= 0.0) {
-            return values.get(random.nextInt(values.size()));
-        }
-        double pick = random.nextDouble() * total;
-        for (int i = 0; i < values.size(); i++) {
-            pick -= weights[i];
-            if (pick <= 0.0) {
-                return values.get(i);
-            }
-        }
-        return values.get(values.size() - 1);
-    }
 }
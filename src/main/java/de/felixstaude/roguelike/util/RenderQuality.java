@@ -0,0 +1,112 @@
+package de.felixstaude.roguelike.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.Locale;
+
+/**
+ * Render-quality tier of one engine, consulted by {@link Draw#globalHints(Graphics2D, RenderQuality)} and the
+ * entity renderers. The tier is either picked automatically (see {@code core.QualityController}) or pinned by
+ * an override. Each engine owns its instance, so headless or parallel engines never change what a visible
+ * game draws; only the {@code --quality=} start value is process-wide.
+ */
+public final class RenderQuality {
+    public enum Tier {
+        /** Antialiased shapes and text, quality rendering. */
+        FULL("full"),
+        /** Antialiased text only. */
+        TEXT_ONLY("text"),
+        /** No antialiasing, simplified enemy outlines. */
+        FAST("fast");
+
+        public final String label;
+
+        Tier(String label) {
+            this.label = label;
+        }
+    }
+
+    private static volatile Tier startOverride = null;
+
+    private Tier tier = Tier.FULL;
+    private Tier override = startOverride;
+
+    /** Effective tier: the override if set, otherwise the automatically chosen one. */
+    public Tier current() {
+        Tier o = override;
+        return o != null ? o : tier;
+    }
+
+    /** The automatically chosen tier, regardless of any override. */
+    public Tier automatic() {
+        return tier;
+    }
+
+    /** Called by the automatic controller; ignored for rendering while an override is set. */
+    public void setAutomatic(Tier t) {
+        tier = t;
+    }
+
+    /** Pins a tier; {@code null} returns to automatic scaling. */
+    public void setOverride(Tier t) {
+        override = t;
+    }
+
+    public Tier getOverride() {
+        return override;
+    }
+
+    public boolean isAutomatic() {
+        return override == null;
+    }
+
+    /** Cycles auto -> full -> text -> fast -> auto. */
+    public void cycleOverride() {
+        Tier o = override;
+        if (o == null) override = Tier.FULL;
+        else if (o.ordinal() + 1 < Tier.values().length) override = Tier.values()[o.ordinal() + 1];
+        else override = null;
+    }
+
+    /** Parses {@code --quality=auto|full|text|fast} from program arguments; applies to engines created afterwards. */
+    public static void configureFromArgs(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--quality=")) continue;
+            String v = arg.substring("--quality=".length()).trim().toLowerCase(Locale.ROOT);
+            if (v.equals("auto")) {
+                startOverride = null;
+                continue;
+            }
+            boolean matched = false;
+            for (Tier t : Tier.values()) {
+                if (t.label.equals(v)) {
+                    startOverride = t;
+                    matched = true;
+                }
+            }
+            if (!matched) throw new IllegalArgumentException("Unknown quality: " + v);
+        }
+    }
+
+    public boolean shapesAntialiased() {
+        return current() == Tier.FULL;
+    }
+
+    public boolean simplifiedOutlines() {
+        return current() == Tier.FAST;
+    }
+
+    void apply(Graphics2D g) {
+        Tier t = current();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                t == Tier.FULL ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                t != Tier.FAST ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING,
+                t == Tier.FULL ? RenderingHints.VALUE_RENDER_QUALITY : RenderingHints.VALUE_RENDER_SPEED);
+    }
+
+    public String describe() {
+        return current().label + (isAutomatic() ? " (auto)" : "");
+    }
+}
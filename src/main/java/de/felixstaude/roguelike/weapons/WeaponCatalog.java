@@ -5,6 +5,7 @@ import de.felixstaude.roguelike.items.ItemRarity;
 import de.felixstaude.roguelike.items.Mod;
 import de.felixstaude.roguelike.stats.Stat;
 
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.List;
@@ -89,6 +90,9 @@ public final class WeaponCatalog {
         );
     }
 
+    private static final Map<WeaponType, WeaponDef> view = Collections.unmodifiableMap(defs);
+
     public static WeaponDef get(WeaponType type){ return defs.get(type); }
-    public static Map<WeaponType, WeaponDef> all(){ return defs; }
+    /** Unveränderliche Sicht; Defs werden nach dem Static-Init nicht mehr verändert und sind threadübergreifend teilbar. */
+    public static Map<WeaponType, WeaponDef> all(){ return view; }
 }
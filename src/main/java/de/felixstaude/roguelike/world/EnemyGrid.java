@@ -0,0 +1,133 @@
+package de.felixstaude.roguelike.world;
+
+import de.felixstaude.roguelike.entity.Enemies;
+
+import java.util.Arrays;
+
+/**
+ * Uniformes Raster über die Arena für Nachbarschaftsabfragen auf Gegnern.
+ * Wird zweimal pro Tick per Counting-Sort neu aufgebaut – vor der Gegnerbewegung fürs Ausweichen,
+ * danach für Treffer und Zielsuche (linear, ohne Allokation im eingeschwungenen Zustand).
+ * Ausweichen, Bullet-Treffer und Homing-Zielsuche prüfen damit nur noch Gegner in nahen Zellen statt aller.
+ * Einträge sind Indizes in {@link Enemies}, gültig bis der Speicher am Tick-Ende zusammengeschoben wird.
+ */
+public class EnemyGrid {
+    public static final int CELL = 64;
+
+    private final Arena arena;
+    private final int cols, rows;
+    private final int[] cellStart;
+    private final int[] cursor;
+
+    private Enemies enemies;
+    private int[] items = new int[256];
+    private int[] cellOf = new int[256];
+    private double maxRadius = 0.0;
+
+    private int[] result = new int[64];
+
+    public EnemyGrid(Arena arena) {
+        this.arena = arena;
+        this.cols = Math.max(1, (arena.w + CELL - 1) / CELL);
+        this.rows = Math.max(1, (arena.h + CELL - 1) / CELL);
+        this.cellStart = new int[cols * rows + 1];
+        this.cursor = new int[cols * rows];
+    }
+
+    /** Vergrößert die Puffer vorab (z.B. auf den Gegner-Cap der Wave), damit rebuild und query nicht allozieren. */
+    public void ensureCapacity(int n) {
+        if (n > items.length) {
+            int c = Math.max(n, items.length * 2);
+            items = Arrays.copyOf(items, c);
+            cellOf = new int[c];
+        }
+        // Eine Abfrage liefert höchstens alle Gegner
+        if (n > result.length) result = Arrays.copyOf(result, n);
+    }
+
+    public void rebuild(Enemies enemies) {
+        this.enemies = enemies;
+        int n = enemies.size();
+        ensureCapacity(n);
+        Arrays.fill(cellStart, 0);
+        double maxR = 0.0;
+        for (int i = 0; i < n; i++) {
+            int c = cellIndex(enemies.x(i), enemies.y(i));
+            cellOf[i] = c;
+            cellStart[c + 1]++;
+            if (enemies.radius(i) > maxR) maxR = enemies.radius(i);
+        }
+        for (int c = 0; c < cols * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+            cursor[c] = cellStart[c];
+        }
+        for (int i = 0; i < n; i++) {
+            items[cursor[cellOf[i]]++] = i;
+        }
+        maxRadius = maxR;
+    }
+
+    /**
+     * Sammelt alle lebenden Gegner, deren Zelle das Rechteck (erweitert um den größten Gegnerradius)
+     * berührt. Ergebnis über {@link #result(int)} abrufbar, gültig bis zum nächsten Aufruf.
+     */
+    public int query(double minX, double minY, double maxX, double maxY) {
+        int x0 = col(minX - maxRadius), x1 = col(maxX + maxRadius);
+        int y0 = row(minY - maxRadius), y1 = row(maxY + maxRadius);
+        int found = 0;
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int c = cy * cols + cx;
+                for (int i = cellStart[c], end = cellStart[c + 1]; i < end; i++) {
+                    int e = items[i];
+                    if (enemies.isDead(e)) continue;
+                    if (found == result.length) result = Arrays.copyOf(result, found * 2);
+                    result[found++] = e;
+                }
+            }
+        }
+        return found;
+    }
+
+    /** Index des {@code i}-ten Treffers der letzten {@link #query}. */
+    public int result(int i) {
+        return result[i];
+    }
+
+    /** Index des nächsten lebenden Gegners (Mittelpunkt) innerhalb {@code range}, sonst -1. */
+    public int nearest(double x, double y, double range) {
+        int x0 = col(x - range), x1 = col(x + range);
+        int y0 = row(y - range), y1 = row(y + range);
+        int best = -1;
+        double bestD2 = range * range;
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int c = cy * cols + cx;
+                for (int i = cellStart[c], end = cellStart[c + 1]; i < end; i++) {
+                    int e = items[i];
+                    if (enemies.isDead(e)) continue;
+                    double dx = enemies.x(e) - x, dy = enemies.y(e) - y;
+                    double d2 = dx * dx + dy * dy;
+                    if (d2 < bestD2) { bestD2 = d2; best = e; }
+                }
+            }
+        }
+        return best;
+    }
+
+    public void clear() {
+        Arrays.fill(cellStart, 0);
+    }
+
+    private int cellIndex(double x, double y) {
+        return row(y) * cols + col(x);
+    }
+
+    private int col(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor((x - arena.x) / CELL)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - arena.y) / CELL)));
+    }
+}
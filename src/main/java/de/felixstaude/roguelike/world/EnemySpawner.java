@@ -1,21 +1,30 @@
 package de.felixstaude.roguelike.world;
 
-import de.felixstaude.roguelike.entity.Enemy;
+import de.felixstaude.roguelike.entity.Enemies;
+import de.felixstaude.roguelike.entity.EnemyArchetype;
 import de.felixstaude.roguelike.entity.Player;
+import de.felixstaude.roguelike.metrics.Metrics;
 
-import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class EnemySpawner {
     private final Arena arena;
+    private final Enemies enemies;
+    private final GameMode mode;
+    private final RandomGenerator random;
 
     private double timer = 0.0;
     private double currentInterval = 1.60;
 
+    private long spawned = 0;
+
     private WaveDifficulty diff = WaveDifficulty.forWave(1);
 
-    public EnemySpawner(Arena arena) {
+    public EnemySpawner(Arena arena, Enemies enemies, GameMode mode, RandomGenerator random) {
         this.arena = arena;
+        this.enemies = enemies;
+        this.mode = mode;
+        this.random = random;
         onWaveStart(1);
     }
 
@@ -25,14 +34,15 @@ public class EnemySpawner {
         onWaveStart(1);
     }
 
-    /** Wird vom Engine bei Start einer neuen Wave aufgerufen. */
+    /** Wird vom Engine bei Start einer neuen Wave aufgerufen; reserviert den Speicher fürs Gegner-Cap. */
     public void onWaveStart(int wave) {
-        diff = WaveDifficulty.forWave(wave);
+        diff = WaveDifficulty.forWave(wave, mode);
         timer = 0.0;
         currentInterval = diff.spawnInterval;
+        enemies.ensureCapacity(diff.maxEnemies);
     }
 
-    public void update(double dt, List<Enemy> enemies, Player player) {
+    public void update(double dt, Player player) {
         timer += dt;
 
         // Wenn sehr voll, keine neuen Spawns
@@ -46,7 +56,7 @@ public class EnemySpawner {
 
             int toSpawn = Math.min(diff.batchSize, diff.maxEnemies - enemies.size());
             for (int i = 0; i < toSpawn; i++) {
-                enemies.add(spawnAtEdge(player));
+                spawnAtEdge(player);
                 if (enemies.size() >= diff.maxEnemies) break;
             }
 
@@ -54,41 +64,41 @@ public class EnemySpawner {
         }
     }
 
-    private Enemy spawnAtEdge(Player player) {
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
-        int side = rnd.nextInt(4); // 0=top, 1=right, 2=bottom, 3=left
+    private void spawnAtEdge(Player player) {
+        int side = random.nextInt(4); // 0=top, 1=right, 2=bottom, 3=left
         double x = 0, y = 0;
         int margin = 10;
 
-        if (side == 0) { x = rnd.nextInt(arena.x + margin, arena.x + arena.w - margin); y = arena.y + margin; }
-        if (side == 1) { x = arena.x + arena.w - margin; y = rnd.nextInt(arena.y + margin, arena.y + arena.h - margin); }
-        if (side == 2) { x = rnd.nextInt(arena.x + margin, arena.x + arena.w - margin); y = arena.y + arena.h - margin; }
-        if (side == 3) { x = arena.x + margin; y = rnd.nextInt(arena.y + margin, arena.y + arena.h - margin); }
+        if (side == 0) { x = random.nextInt(arena.x + margin, arena.x + arena.w - margin); y = arena.y + margin; }
+        if (side == 1) { x = arena.x + arena.w - margin; y = random.nextInt(arena.y + margin, arena.y + arena.h - margin); }
+        if (side == 2) { x = random.nextInt(arena.x + margin, arena.x + arena.w - margin); y = arena.y + arena.h - margin; }
+        if (side == 3) { x = arena.x + margin; y = random.nextInt(arena.y + margin, arena.y + arena.h - margin); }
 
         double minDist = 180;
         int tries = 16;
         while (tries-- > 0) {
             double dx = x - player.pos.x, dy = y - player.pos.y;
             if (dx * dx + dy * dy >= minDist * minDist) break;
-            side = rnd.nextInt(4);
-            if (side == 0) { x = rnd.nextInt(arena.x + margin, arena.x + arena.w - margin); y = arena.y + margin; }
-            if (side == 1) { x = arena.x + arena.w - margin; y = rnd.nextInt(arena.y + margin, arena.y + arena.h - margin); }
-            if (side == 2) { x = rnd.nextInt(arena.x + margin, arena.x + arena.w - margin); y = arena.y + arena.h - margin; }
-            if (side == 3) { x = arena.x + margin; y = rnd.nextInt(arena.y + margin, arena.y + arena.h - margin); }
+            side = random.nextInt(4);
+            if (side == 0) { x = random.nextInt(arena.x + margin, arena.x + arena.w - margin); y = arena.y + margin; }
+            if (side == 1) { x = arena.x + arena.w - margin; y = random.nextInt(arena.y + margin, arena.y + arena.h - margin); }
+            if (side == 2) { x = random.nextInt(arena.x + margin, arena.x + arena.w - margin); y = arena.y + arena.h - margin; }
+            if (side == 3) { x = arena.x + margin; y = random.nextInt(arena.y + margin, arena.y + arena.h - margin); }
         }
 
-        Enemy e = new Enemy();
-        // Basestats + Wave-Skalierung
-        e.pos.set(x, y);
-        e.speed = (100 + rnd.nextDouble() * 40) * diff.enemySpeedMul;
-        e.maxHp = e.maxHp * diff.enemyHpMul;
-        e.hp = e.maxHp;
-        e.dodgeFactor = Math.min(0.7, e.dodgeFactor * diff.enemyDodgeMul); // nicht übertrieben dodgen
-
-        return e;
+        EnemyArchetype type = EnemyArchetype.GRUNT;
+        int e = enemies.spawn(type, x, y);
+        spawned++;
+        Metrics.SPAWNS.inc();
+        // Basestats der Art + Wave-Skalierung
+        enemies.setSpeed(e, (type.baseSpeed + random.nextDouble() * type.speedJitter) * diff.enemySpeedMul);
+        enemies.setMaxHp(e, type.hp * diff.enemyHpMul);
+        enemies.setDodgeFactor(e, Math.min(0.7, type.dodgeFactor * diff.enemyDodgeMul)); // nicht übertrieben dodgen
     }
 
     public int getMaxEnemies() { return diff.maxEnemies; }
     public double getCurrentInterval() { return currentInterval; }
     public WaveDifficulty getDifficulty() { return diff; }
+    public GameMode getMode() { return mode; }
+    public long getSpawned() { return spawned; }
 }
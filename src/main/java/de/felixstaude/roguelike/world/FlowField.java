@@ -0,0 +1,220 @@
+package de.felixstaude.roguelike.world;
+
+import de.felixstaude.roguelike.math.Vec2;
+
+import java.util.Arrays;
+
+/**
+ * Grobes Flow-Field über die Arena: Distanzfeld (Dijkstra, 8 Nachbarn) vom Spieler-Feld aus,
+ * daraus je Zelle eine normalisierte Laufrichtung. Gegner samplen nur noch ihre Zelle,
+ * die Kosten pro Gegner sind damit konstant – unabhängig davon, wie das Feld entsteht.
+ *
+ * <p>Neu berechnet wird das ganze Feld (kein inkrementelles Reparieren: mit wanderndem Ziel ändern sich
+ * praktisch alle Distanzen), dafür gedrosselt: höchstens alle {@link #REBUILD_INTERVAL} Sekunden, und
+ * nur wenn sich blockierte Zellen geändert haben, der Spieler mindestens {@link #REBUILD_CELLS} Zellen
+ * vom letzten Ziel entfernt ist oder seit {@link #STALE_INTERVAL} Sekunden in einer anderen Zelle steht.
+ * Ein Ziel, das eine Zelle daneben liegt, fällt nicht auf: im Umkreis von {@link #DIRECT_RADIUS}
+ * laufen Gegner ohnehin direkt auf den Spieler zu.
+ */
+public class FlowField {
+    public static final int CELL = 32;
+    private static final double REBUILD_INTERVAL = 0.1;
+    private static final int REBUILD_CELLS = 2;
+    private static final double STALE_INTERVAL = 0.5;
+    private static final float DIAG = (float) Math.sqrt(2.0);
+    /** Innerhalb dieses Radius läuft der Gegner direkt auf den Spieler zu (feiner als das Raster). */
+    private static final double DIRECT_RADIUS = CELL * 2.0;
+
+    private final Arena arena;
+    private final int cols, rows;
+    private final boolean[] blocked;
+    private final float[] dist;
+    private final float[] dirX, dirY;
+
+    // Binär-Heap über Zellindizes (keine Allokation pro Rebuild)
+    private final int[] heap;
+    private final float[] heapKey;
+    private int heapSize;
+
+    private int targetCell = -1;
+    private double targetX, targetY;
+    private double timer = 0.0;
+    private double sinceRebuild = 0.0;
+    private boolean dirty = true;
+    private long rebuilds = 0;
+
+    public FlowField(Arena arena) {
+        this.arena = arena;
+        this.cols = Math.max(1, (arena.w + CELL - 1) / CELL);
+        this.rows = Math.max(1, (arena.h + CELL - 1) / CELL);
+        int n = cols * rows;
+        blocked = new boolean[n];
+        dist = new float[n];
+        dirX = new float[n];
+        dirY = new float[n];
+        heap = new int[n * 8 + 1];
+        heapKey = new float[n * 8 + 1];
+    }
+
+    /** Für spätere Hindernisse: Zelle sperren/freigeben. */
+    public void setBlocked(int cx, int cy, boolean value) {
+        int i = cy * cols + cx;
+        if (blocked[i] != value) {
+            blocked[i] = value;
+            dirty = true;
+        }
+    }
+
+    /** Ziel nachführen; baut das Feld neu, wenn nötig und das Intervall abgelaufen ist. */
+    public void update(double dt, double playerX, double playerY) {
+        targetX = playerX;
+        targetY = playerY;
+        timer -= dt;
+        sinceRebuild += dt;
+        int cell = cellIndex(playerX, playerY);
+        if (cell == targetCell && !dirty) return;
+        if (timer > 0 && targetCell >= 0) return;
+        if (!dirty && targetCell >= 0 && cellDistance(cell, targetCell) < REBUILD_CELLS
+                && sinceRebuild < STALE_INTERVAL) return;
+        rebuild(cell);
+        timer = REBUILD_INTERVAL;
+        sinceRebuild = 0.0;
+    }
+
+    /** Chebyshev-Abstand zweier Zellen in Zellen. */
+    private int cellDistance(int a, int b) {
+        return Math.max(Math.abs(a % cols - b % cols), Math.abs(a / cols - b / cols));
+    }
+
+    /** Erzwingt einen Neuaufbau beim nächsten {@link #update}. */
+    public void invalidate() {
+        dirty = true;
+        timer = 0.0;
+    }
+
+    /** Schreibt die gewünschte Laufrichtung (Länge 1 oder 0) an Position (x, y) nach {@code out}. */
+    public void sample(double x, double y, Vec2 out) {
+        double dx = targetX - x, dy = targetY - y;
+        double d2 = dx * dx + dy * dy;
+        if (d2 <= DIRECT_RADIUS * DIRECT_RADIUS || targetCell < 0) {
+            double l = Math.sqrt(d2);
+            if (l > 1e-9) out.set(dx / l, dy / l); else out.set(0, 0);
+            return;
+        }
+        // Bilinear zwischen den vier nächsten Zellmittelpunkten
+        double gx = (x - arena.x) / CELL - 0.5;
+        double gy = (y - arena.y) / CELL - 0.5;
+        int x0 = clampCol((int) Math.floor(gx)), y0 = clampRow((int) Math.floor(gy));
+        int x1 = clampCol(x0 + 1), y1 = clampRow(y0 + 1);
+        double tx = Math.min(1, Math.max(0, gx - x0));
+        double ty = Math.min(1, Math.max(0, gy - y0));
+        int i00 = y0 * cols + x0, i10 = y0 * cols + x1, i01 = y1 * cols + x0, i11 = y1 * cols + x1;
+        double vx = lerp(lerp(dirX[i00], dirX[i10], tx), lerp(dirX[i01], dirX[i11], tx), ty);
+        double vy = lerp(lerp(dirY[i00], dirY[i10], tx), lerp(dirY[i01], dirY[i11], tx), ty);
+        double l = Math.sqrt(vx * vx + vy * vy);
+        if (l > 1e-9) out.set(vx / l, vy / l); else out.set(dx / Math.sqrt(d2), dy / Math.sqrt(d2));
+    }
+
+    private void rebuild(int source) {
+        rebuilds++;
+        targetCell = source;
+        dirty = false;
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        heapSize = 0;
+        dist[source] = 0f;
+        push(source, 0f);
+
+        while (heapSize > 0) {
+            float d = heapKey[1];
+            int c = pop();
+            if (d > dist[c]) continue; // veralteter Eintrag
+            int cx = c % cols, cy = c / cols;
+            for (int oy = -1; oy <= 1; oy++) {
+                int ny = cy + oy;
+                if (ny < 0 || ny >= rows) continue;
+                for (int ox = -1; ox <= 1; ox++) {
+                    if (ox == 0 && oy == 0) continue;
+                    int nx = cx + ox;
+                    if (nx < 0 || nx >= cols) continue;
+                    int n = ny * cols + nx;
+                    if (blocked[n]) continue;
+                    // Keine Ecken schneiden
+                    if (ox != 0 && oy != 0 && (blocked[cy * cols + nx] || blocked[ny * cols + cx])) continue;
+                    float nd = d + (ox != 0 && oy != 0 ? DIAG : 1f);
+                    if (nd < dist[n]) {
+                        dist[n] = nd;
+                        push(n, nd);
+                    }
+                }
+            }
+        }
+
+        // Richtung = negativer Gradient des Distanzfelds
+        for (int cy = 0; cy < rows; cy++) {
+            for (int cx = 0; cx < cols; cx++) {
+                int c = cy * cols + cx;
+                float here = dist[c];
+                if (blocked[c] || Float.isInfinite(here)) { dirX[c] = 0; dirY[c] = 0; continue; }
+                float gx = neighbour(cx - 1, cy, here) - neighbour(cx + 1, cy, here);
+                float gy = neighbour(cx, cy - 1, here) - neighbour(cx, cy + 1, here);
+                float l = (float) Math.sqrt(gx * gx + gy * gy);
+                if (l > 1e-6f) { dirX[c] = gx / l; dirY[c] = gy / l; }
+                else { dirX[c] = 0; dirY[c] = 0; }
+            }
+        }
+    }
+
+    private float neighbour(int cx, int cy, float fallback) {
+        if (cx < 0 || cy < 0 || cx >= cols || cy >= rows) return fallback;
+        float d = dist[cy * cols + cx];
+        return Float.isInfinite(d) ? fallback + 1f : d;
+    }
+
+    private int cellIndex(double x, double y) {
+        int cx = clampCol((int) ((x - arena.x) / CELL));
+        int cy = clampRow((int) ((y - arena.y) / CELL));
+        return cy * cols + cx;
+    }
+
+    private int clampCol(int cx) { return Math.max(0, Math.min(cols - 1, cx)); }
+    private int clampRow(int cy) { return Math.max(0, Math.min(rows - 1, cy)); }
+
+    private static double lerp(double a, double b, double t) { return a + (b - a) * t; }
+
+    private void push(int cell, float key) {
+        int i = ++heapSize;
+        while (i > 1 && heapKey[i >> 1] > key) {
+            heap[i] = heap[i >> 1];
+            heapKey[i] = heapKey[i >> 1];
+            i >>= 1;
+        }
+        heap[i] = cell;
+        heapKey[i] = key;
+    }
+
+    private int pop() {
+        int top = heap[1];
+        int lastCell = heap[heapSize];
+        float lastKey = heapKey[heapSize];
+        heapSize--;
+        int i = 1;
+        while (true) {
+            int child = i << 1;
+            if (child > heapSize) break;
+            if (child < heapSize && heapKey[child + 1] < heapKey[child]) child++;
+            if (heapKey[child] >= lastKey) break;
+            heap[i] = heap[child];
+            heapKey[i] = heapKey[child];
+            i = child;
+        }
+        heap[i] = lastCell;
+        heapKey[i] = lastKey;
+        return top;
+    }
+
+    /** Anzahl vollständiger Neuberechnungen seit Erzeugung (für Auswertungen). */
+    public long getRebuildCount() { return rebuilds; }
+
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+}
@@ -0,0 +1,17 @@
+package de.felixstaude.roguelike.world;
+
+/** Spielmodus – bestimmt die Wave-Skalierung in {@link WaveDifficulty}. */
+public enum GameMode {
+    /** Normale Waves, Cap bei 200 Gegnern. */
+    STANDARD,
+    /** Endlos-Horde: Gegneranzahl skaliert ohne Cap bis in die Tausende. */
+    HORDE;
+
+    /** Liest {@code --horde} aus den Programmargumenten. */
+    public static GameMode fromArgs(String[] args) {
+        for (String arg : args) {
+            if ("--horde".equalsIgnoreCase(arg)) return HORDE;
+        }
+        return STANDARD;
+    }
+}
@@ -27,7 +27,12 @@ public class WaveDifficulty {
     }
 
     public static WaveDifficulty forWave(int wave) {
+        return forWave(wave, GameMode.STANDARD);
+    }
+
+    public static WaveDifficulty forWave(int wave, GameMode mode) {
         int w = Math.max(1, wave);
+        if (mode == GameMode.HORDE) return horde(w);
 
         // Mehr Enemies: schnellere Spawns + Batch-Spawn + höheres Cap
         double spawnInterval = 1.60 / (1.0 + 0.18 * (w - 1));                 // Wave 1: 1.60s, Wave 6: ~0.84s
@@ -43,4 +48,19 @@ public class WaveDifficulty {
         return new WaveDifficulty(w, spawnInterval, minInterval, batchSize, maxEnemies,
                 enemyHpMul, enemySpeedMul, enemyDodgeMul);
     }
+
+    /** Endlos-Horde: kein 200er-Cap, HP skaliert ungebremst weiter. */
+    private static WaveDifficulty horde(int w) {
+        double spawnInterval = 0.80 / (1.0 + 0.25 * (w - 1));                 // Wave 1: 0.80s, Wave 5: 0.40s
+        double minInterval   = Math.max(0.10, 0.45 / (1.0 + 0.20 * (w - 1))); // nie schneller als 0.10s
+        int batchSize        = 4 + 3 * (w - 1);                                // Wave 10: 31 pro Spawn-Tick
+        int maxEnemies       = 300 + 450 * (w - 1);                            // Wave 12: ~5.000
+
+        double enemyHpMul    = 1.0 + 0.12 * (w - 1);                           // ohne Cap
+        double enemySpeedMul = Math.min(2.2, 1.0 + 0.035 * (w - 1));
+        double enemyDodgeMul = Math.min(1.6, 1.0 + 0.02  * (w - 1));
+
+        return new WaveDifficulty(w, spawnInterval, minInterval, batchSize, maxEnemies,
+                enemyHpMul, enemySpeedMul, enemyDodgeMul);
+    }
 }
@@ -34,6 +34,13 @@ public class WaveManager {
         finished = false;
     }
 
+    /** Für Headless-Tools: direkt mit einer späteren Wave beginnen. */
+    public void startAt(int wave) {
+        this.wave = Math.max(1, wave);
+        timeLeft = waveDuration;
+        finished = false;
+    }
+
     public boolean isFinished() { return finished; }
     public int getWave() { return wave; }
     public double getTimeLeft() { return Math.max(0, timeLeft); }
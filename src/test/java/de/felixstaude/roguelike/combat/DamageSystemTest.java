@@ -0,0 +1,59 @@
+package de.felixstaude.roguelike.combat;
+
+import de.felixstaude.roguelike.core.TickRate;
+import de.felixstaude.roguelike.entity.Bullets;
+import de.felixstaude.roguelike.entity.Enemies;
+import de.felixstaude.roguelike.entity.EnemyArchetype;
+import de.felixstaude.roguelike.entity.Particles;
+import de.felixstaude.roguelike.entity.Player;
+import de.felixstaude.roguelike.world.Arena;
+import de.felixstaude.roguelike.world.EnemyGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Swept-Collision mit Pierce: eine Kugel trifft jeden Gegner auf ihrem Weg genau einmal, bei jeder
+ * {@link TickRate} – auch wenn sie mehrere Ticks lang im Gegner steckt.
+ */
+class DamageSystemTest {
+    private static final double SPEED = 700.0;
+    private static final int PIERCE = 5;
+
+    /** Ein Lauf: eine Kugel fliegt von links durch die Gegner bei {@code enemyX}; liefert die Trefferzahl. */
+    private static long hits(TickRate rate, double... enemyX) {
+        Player player = new Player();
+        Bullets bullets = new Bullets();
+        Enemies enemies = new Enemies();
+        for (double x : enemyX) {
+            int e = enemies.spawn(EnemyArchetype.GRUNT, x, 300);
+            enemies.setMaxHp(e, 1e9); // überlebt jeden Treffer, damit Mehrfachtreffer sichtbar werden
+        }
+        EnemyGrid grid = new EnemyGrid(new Arena(0, 0, 1600, 900));
+        DamageSystem damage = new DamageSystem(player, bullets, enemies, new Particles(), grid);
+
+        bullets.add(100, 300, SPEED, 0, 1.2, 1.0, 4, PIERCE, 0.0);
+        double dt = rate.dt();
+        for (int tick = 0; tick < rate.ups && bullets.size() > 0; tick++) {
+            grid.rebuild(enemies);
+            bullets.update(dt, enemies, grid);
+            damage.update(dt);
+            bullets.compact();
+        }
+        return Math.round(damage.getDamageDealt());
+    }
+
+    @Test
+    void pierceBulletHitsOneEnemyOnce() {
+        for (TickRate rate : TickRate.values()) {
+            assertEquals(1, hits(rate, 400), rate.ups + " UPS");
+        }
+    }
+
+    @Test
+    void pierceBulletHitsEachEnemyInARowOnce() {
+        for (TickRate rate : TickRate.values()) {
+            assertEquals(3, hits(rate, 400, 415, 600), rate.ups + " UPS");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package de.felixstaude.roguelike.entity;
+
+import de.felixstaude.roguelike.world.Arena;
+import de.felixstaude.roguelike.world.EnemyGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ausweichen über das Grid: ein Gegner reagiert auf Kugeln, die innerhalb von {@link Enemies#DODGE_RADIUS}
+ * und {@code lookahead} auf ihn zufliegen – auf weiter seitlich vorbeifliegende bewusst nicht mehr.
+ */
+class EnemiesTest {
+    private static final double ENEMY_X = 800, ENEMY_Y = 450;
+    private static final double EPS = 1e-9;
+
+    /** Ein Gegner, Kugeln von links nach rechts mit den gegebenen y-Versätzen; liefert seine Ausweichrichtung. */
+    private static double[] dodge(double bulletX, double... offsets) {
+        Enemies enemies = new Enemies();
+        int e = enemies.spawn(EnemyArchetype.GRUNT, ENEMY_X, ENEMY_Y);
+        Bullets bullets = new Bullets();
+        for (double dy : offsets) bullets.add(bulletX, ENEMY_Y + dy, 700, 0, 1.0, 1.0, 4, 0, 0.0);
+        EnemyGrid grid = new EnemyGrid(new Arena(0, 0, 1600, 900));
+        grid.rebuild(enemies);
+        enemies.computeDodges(bullets, grid);
+        return new double[] {enemies.dodgeX(e), enemies.dodgeY(e)};
+    }
+
+    private static void assertDodge(double x, double y, double[] actual, String what) {
+        assertEquals(x, actual[0], EPS, what + " (x)");
+        assertEquals(y, actual[1], EPS, what + " (y)");
+    }
+
+    @Test
+    void dodgesAwayFromNearBullet() {
+        assertDodge(0, -1, dodge(ENEMY_X - 200, 30), "Kugel 30 px darunter");
+        assertDodge(0, 1, dodge(ENEMY_X - 200, -(Enemies.DODGE_RADIUS - 1)), "Kugel knapp im Korridor darüber");
+    }
+
+    @Test
+    void ignoresFarBullet() {
+        assertDodge(0, 0, dodge(ENEMY_X - 200, Enemies.DODGE_RADIUS + 1), "Kugel knapp außerhalb des Korridors");
+        assertDodge(0, 0, dodge(ENEMY_X - 200, 300), "Kugel weit seitlich");
+        assertDodge(0, 0, dodge(ENEMY_X - EnemyArchetype.GRUNT.lookahead - 20, 10), "Kugel jenseits lookahead");
+        assertDodge(0, 0, dodge(ENEMY_X + 50, 10), "Kugel schon vorbei");
+    }
+
+    @Test
+    void nearestBulletWins() {
+        assertDodge(0, 1, dodge(ENEMY_X - 200, 60, -20, 300), "nächste Flugbahn 20 px darüber");
+    }
+}
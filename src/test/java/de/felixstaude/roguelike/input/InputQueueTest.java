@@ -0,0 +1,71 @@
+package de.felixstaude.roguelike.input;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Überlauf der Input-Queue: ein voller Ring darf Bewegungen zusammenfassen und Downs verwerfen,
+ * aber kein Release verlieren – sonst bleibt eine Taste bzw. ein Button hängen.
+ */
+class InputQueueTest {
+    private static final int CAPACITY = 16;
+
+    /** Füllt den Ring (ohne Consumer) mit Mausbewegungen; die letzte geht nach (x, y). */
+    private static void flood(InputQueue queue, int x, int y) {
+        for (int i = 0; i < CAPACITY * 4; i++) queue.offer(InputQueue.MOUSE_MOVE, 0, i, i);
+        queue.offer(InputQueue.MOUSE_MOVE, 0, x, y);
+    }
+
+    @Test
+    void keyReleaseArrivesAfterRingFilledWithMoves() {
+        InputQueue queue = new InputQueue(CAPACITY);
+        Input input = new Input();
+        queue.offer(InputQueue.KEY_DOWN, KeyEvent.VK_W, 0, 0);
+        flood(queue, 321, 123);
+        assertTrue(queue.offer(InputQueue.KEY_UP, KeyEvent.VK_W, 0, 0), "release must fit");
+
+        input.poll(queue);
+        assertFalse(input.isDown(KeyEvent.VK_W), "W still held");
+        assertTrue(input.wasReleased(KeyEvent.VK_W), "release edge missing");
+        assertEquals(321, input.mouseX, "newest mouse x");
+        assertEquals(123, input.mouseY, "newest mouse y");
+    }
+
+    @Test
+    void mouseReleaseArrivesAfterRingFilledWithMoves() {
+        InputQueue queue = new InputQueue(CAPACITY);
+        Input input = new Input();
+        queue.offer(InputQueue.MOUSE_DOWN, MouseEvent.BUTTON1, 10, 10);
+        flood(queue, 50, 60);
+        assertTrue(queue.offer(InputQueue.MOUSE_UP, MouseEvent.BUTTON1, 70, 80), "release must fit");
+
+        input.poll(queue);
+        assertFalse(input.mousePressedL, "left button still held");
+        assertEquals(70, input.mouseX, "release position wins over older moves");
+        assertEquals(80, input.mouseY, "release position wins over older moves");
+    }
+
+    @Test
+    void lostReleaseLetsGoOfEverythingHeldBefore() {
+        InputQueue queue = new InputQueue(CAPACITY);
+        Input input = new Input();
+        queue.offer(InputQueue.KEY_DOWN, KeyEvent.VK_A, 0, 0);
+        // Releases anderer Tasten belegen auch die Reserve, bis wirklich nichts mehr passt
+        while (queue.offer(InputQueue.KEY_UP, KeyEvent.VK_B, 0, 0)) { }
+        assertFalse(queue.offer(InputQueue.KEY_UP, KeyEvent.VK_A, 0, 0), "ring should be full");
+
+        input.poll(queue);
+        assertFalse(input.isDown(KeyEvent.VK_A), "A stuck after its release was lost");
+
+        // danach gedrückte Tasten bleiben gedrückt
+        queue.offer(InputQueue.KEY_DOWN, KeyEvent.VK_D, 0, 0);
+        input.poll(queue);
+        assertTrue(input.isDown(KeyEvent.VK_D), "D pressed after the loss");
+    }
+}
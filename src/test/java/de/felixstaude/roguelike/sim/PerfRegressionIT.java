@@ -0,0 +1,154 @@
+package de.felixstaude.roguelike.sim;
+
+import de.felixstaude.roguelike.core.Engine;
+import de.felixstaude.roguelike.core.GameState;
+import de.felixstaude.roguelike.core.TickRate;
+import de.felixstaude.roguelike.entity.Player;
+import de.felixstaude.roguelike.metrics.AllocationTracker;
+import de.felixstaude.roguelike.metrics.LatencyHistogram;
+import de.felixstaude.roguelike.world.GameMode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Performance-Regressionstest: deterministische Headless-Szenarien (feste Seeds, {@link KiteBot}),
+ * je Szenario erst Einschwingen bis zum Gegner-Cap, dann Messung im Steady State.
+ *
+ * <p>Jedes Szenario läuft mehrmals mit frischem Engine. Allokation ist deterministisch, deshalb muss
+ * <em>jede</em> Runde ohne Allokation auskommen – auch eine, die nur in einer Runde auftritt, ist ein Fehler.
+ * Für das p99-Budget zählt dagegen die beste Runde: echte Regressionen zeigen sich in jeder Runde,
+ * einmalige Effekte wie JIT-Deoptimierungen oder ein verdrängter Thread nicht.
+ *
+ * <p>Läuft über Failsafe in {@code mvn verify} ({@code -DskipITs} überspringt ihn). Die Tick-Budgets
+ * sind für Build-Maschinen großzügig gewählt; langsamere Maschinen skalieren sie mit
+ * {@code -Dperf.budgetScale=2}, die Rundenzahl kommt aus {@code -Dperf.rounds}.
+ */
+@Tag("perf")
+class PerfRegressionIT {
+    private static final long SEED = 42L;
+    private static final int WARMUP_TICKS = 600;
+    private static final int TICKS = 1_000;
+    private static final double MAX_BYTES_PER_TICK = 0.0;
+    private static final double BUDGET_SCALE = Double.parseDouble(System.getProperty("perf.budgetScale", "1.0"));
+    private static final int ROUNDS = Math.max(1, Integer.getInteger("perf.rounds", 3));
+
+    /** Ein Szenario: Modus, Wave, Spieler-Build und p99-Budget pro Tick. */
+    record Scenario(String name, GameMode mode, int wave, double budgetMicros, Consumer<Player> build) {
+        @Override
+        public String toString() { return name; }
+    }
+
+    /** Ergebnis einer gemessenen Runde. */
+    record Round(int enemies, int bullets, double bytesPerTick, LatencyHistogram ticks,
+                 AllocationTracker allocations) {
+        double p99Micros() { return ticks.percentileNanos(99.0) / 1000.0; }
+    }
+
+    static List<Scenario> scenarios() {
+        return List.of(
+                new Scenario("wave15", GameMode.STANDARD, 15, 3_000, p -> { }),
+                new Scenario("homing-multishot", GameMode.STANDARD, 15, 3_000, p -> {
+                    p.multishot = 4;
+                    p.homingChance = 1.0;
+                    p.fireRate = 12.0;
+                    p.pierce = 1;
+                }),
+                new Scenario("horde", GameMode.HORDE, 5, 5_000, p -> { }),
+                // Zielgröße des Horde-Modus: ~5.000 Gegner bei 60 UPS, Budget = ein ganzer Tick.
+                // Viele Kugeln, damit Treffer und Ausweichen gegen die volle Gegnerzahl laufen
+                new Scenario("horde-5000", GameMode.HORDE, 12, 16_667, p -> {
+                    p.multishot = 4;
+                    p.fireRate = 12.0;
+                    p.pierce = 3;
+                })
+        );
+    }
+
+    @BeforeAll
+    static void warmUpJit() {
+        for (Scenario s : scenarios()) measure(s); // Ergebnis verworfen
+        System.out.printf(Locale.ROOT, "%-18s %5s %8s %8s %10s %9s %9s %9s %9s%n",
+                "scenario", "round", "enemies", "bullets", "bytes/tick", "p50 us", "p99 us", "max us", "budget");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    void staysWithinBudget(Scenario scenario) {
+        double budget = scenario.budgetMicros() * BUDGET_SCALE;
+        Round fastest = null;
+        for (int r = 1; r <= ROUNDS; r++) {
+            Round round = measure(scenario);
+            System.out.printf(Locale.ROOT, "%-18s %5d %8d %8d %10.1f %9.1f %9.1f %9.1f %9.0f%n",
+                    scenario.name(), r, round.enemies(), round.bullets(), round.bytesPerTick(),
+                    round.ticks().percentileNanos(50.0) / 1000.0, round.p99Micros(),
+                    round.ticks().maxNanos() / 1000.0, budget);
+            if (AllocationTracker.isSupported()) {
+                int index = r;
+                assertTrue(round.bytesPerTick() <= MAX_BYTES_PER_TICK,
+                        () -> allocationReport(scenario, index, round));
+            }
+            if (fastest == null || round.p99Micros() < fastest.p99Micros()) fastest = round;
+        }
+        double p99 = fastest.p99Micros();
+        assertTrue(p99 <= budget, () -> String.format(Locale.ROOT,
+                "%s: best p99 tick %.1f us over budget %.0f us", scenario.name(), p99, budget));
+    }
+
+    private static String allocationReport(Scenario scenario, int index, Round round) {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+                "%s round %d: %.1f bytes/tick allocated (allowed %.1f)",
+                scenario.name(), index, round.bytesPerTick(), MAX_BYTES_PER_TICK));
+        for (AllocationTracker.Section section : AllocationTracker.Section.values()) {
+            long total = round.allocations().totalBytes(section);
+            if (total > 0) {
+                sb.append(String.format(Locale.ROOT, "%n  %-14s %s in %d ticks", section.label,
+                        AllocationTracker.formatBytes(total), TICKS));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Round measure(Scenario scenario) {
+        TickRate rate = TickRate.STANDARD;
+        Engine engine = Engine.headless(new KiteBot(), scenario.mode(), rate, new SplittableRandom(SEED));
+        Player player = engine.getPlayer();
+        scenario.build().accept(player);
+        // Unverwundbar ohne Controller-Trick: ein Tod würde den Steady State beenden
+        player.maxHp = player.hp = 1e12;
+        engine.jumpToWave(scenario.wave());
+
+        double dt = rate.dt();
+        for (int i = 0; i < WARMUP_TICKS; i++) step(engine, dt, scenario);
+
+        AllocationTracker allocations = engine.getAllocationTracker();
+        allocations.setEnabled(true);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long bytes = 0;
+        for (int i = 0; i < TICKS; i++) {
+            long t0 = System.nanoTime();
+            step(engine, dt, scenario);
+            histogram.record(System.nanoTime() - t0);
+            bytes += allocations.lastTickBytes();
+        }
+        allocations.setEnabled(false);
+        return new Round(engine.getEnemies().size(), engine.getBulletCount(), bytes / (double) TICKS,
+                histogram, allocations);
+    }
+
+    private static void step(Engine engine, double dt, Scenario scenario) {
+        engine.onUpdate(dt);
+        if (engine.getState() != GameState.RUNNING) {
+            throw new IllegalStateException(scenario.name() + ": left the wave during measurement ("
+                    + engine.getState() + "); reduce warmup/ticks");
+        }
+    }
+}
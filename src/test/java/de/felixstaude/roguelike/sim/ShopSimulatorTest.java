@@ -0,0 +1,100 @@
+package de.felixstaude.roguelike.sim;
+
+import de.felixstaude.roguelike.items.Item;
+import de.felixstaude.roguelike.items.ItemRarity;
+import de.felixstaude.roguelike.items.PassiveItemCatalog;
+import de.felixstaude.roguelike.weapons.WeaponCatalog;
+import de.felixstaude.roguelike.weapons.WeaponDef;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Shop-Simulation: Ergebnis hängt nur von Seed und Run-Zahl ab, und die Rarity-Verteilung der
+ * ersten Shop-Phase entspricht den Katalog-Gewichten (55 % Waffen mit Luck-Bias, sonst Passives gleichverteilt).
+ */
+class ShopSimulatorTest {
+    private static final int RUNS = 20_000;
+    /** Erlaubte Abweichung pro Rarity in Prozentpunkten (Standardfehler bei 80k Angeboten ≈ 0,2). */
+    private static final double TOLERANCE_PCT = 1.0;
+
+    private static ShopSimulator.Cell[][] simulate(int runs, int waves, int rerolls, int threads, int... lucks)
+            throws Exception {
+        ShopSimulator.Config config = new ShopSimulator.Config();
+        config.runs = runs;
+        config.waves = waves;
+        config.maxRerollsPerPhase = rerolls;
+        config.threads = threads;
+        config.lucks = lucks;
+        return new ShopSimulator(config).run();
+    }
+
+    @Test
+    void resultDoesNotDependOnThreadCount() throws Exception {
+        ShopSimulator.Cell[][] single = simulate(997, 4, 3, 1, 0, 50);
+        ShopSimulator.Cell[][] parallel = simulate(997, 4, 3, 5, 0, 50);
+        for (int l = 0; l < single.length; l++) {
+            for (int w = 0; w < single[l].length; w++) {
+                ShopSimulator.Cell a = single[l][w], b = parallel[l][w];
+                String where = "luck index " + l + ", wave " + (w + 1);
+                assertArrayEquals(a.rarity, b.rarity, where);
+                assertEquals(a.rerolls, b.rerolls, where);
+                assertEquals(a.purchases, b.purchases, where);
+                assertEquals(a.buyGold, b.buyGold, where);
+                assertEquals(a.phasesWithUnique, b.phasesWithUnique, where);
+            }
+        }
+    }
+
+    @Test
+    void firstPhaseRollsMatchCatalogWeights() throws Exception {
+        int[] lucks = {0, 50};
+        // ohne Rerolls enthält Wave 1 nur die Eröffnungs-Rolls mit vollem Pool
+        ShopSimulator.Cell[][] cells = simulate(RUNS, 1, 0, 2, lucks);
+        for (int l = 0; l < lucks.length; l++) {
+            ShopSimulator.Cell cell = cells[l][0];
+            double[] expected = expectedRarity(lucks[l]);
+            for (ItemRarity rarity : ItemRarity.values()) {
+                double actual = 100.0 * cell.rarity[rarity.ordinal()] / cell.offersSeen;
+                assertEquals(100.0 * expected[rarity.ordinal()], actual, TOLERANCE_PCT,
+                        rarity + " bei Luck " + lucks[l]);
+            }
+        }
+    }
+
+    /** Rarity-Wahrscheinlichkeiten eines Angebots, direkt aus den Katalogen und den Shop-Gewichten. */
+    private static double[] expectedRarity(int luck) {
+        double[] p = new double[ItemRarity.values().length];
+
+        List<Item> passives = PassiveItemCatalog.all();
+        for (Item item : passives) p[item.rarity.ordinal()] += 0.45 / passives.size();
+
+        List<WeaponDef> defs = new ArrayList<>(WeaponCatalog.all().values());
+        double[] defWeight = new double[defs.size()];
+        double defTotal = 0;
+        for (int i = 0; i < defs.size(); i++) {
+            ItemRarity hint = defs.get(i).rarityHint;
+            defWeight[i] = Math.max(1, Math.round(hint.weight * (1.0 + luck * 0.008 * hint.rank())));
+            defTotal += defWeight[i];
+        }
+        int[] tierBase = {70, 22, 7, 1};
+        double[] tierWeight = new double[tierBase.length];
+        double tierTotal = 0;
+        for (int t = 0; t < tierBase.length; t++) {
+            tierWeight[t] = Math.max(1, Math.round(tierBase[t] * (1.0 + luck * 0.012 * t)));
+            tierTotal += tierWeight[t];
+        }
+        for (int i = 0; i < defs.size(); i++) {
+            for (int t = 0; t < tierBase.length; t++) {
+                // Tier hebt die Rarity der Waffe um t Stufen, EPIC-Tier ist immer EPIC
+                int rank = t == 3 ? 3 : Math.min(3, defs.get(i).rarityHint.rank() + t);
+                p[rank] += 0.55 * (defWeight[i] / defTotal) * (tierWeight[t] / tierTotal);
+            }
+        }
+        return p;
+    }
+}
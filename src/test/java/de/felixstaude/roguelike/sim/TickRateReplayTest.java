@@ -0,0 +1,247 @@
+package de.felixstaude.roguelike.sim;
+
+import de.felixstaude.roguelike.core.Engine;
+import de.felixstaude.roguelike.core.EngineArena;
+import de.felixstaude.roguelike.core.GameState;
+import de.felixstaude.roguelike.core.TickRate;
+import de.felixstaude.roguelike.entity.Enemies;
+import de.felixstaude.roguelike.entity.Player;
+import de.felixstaude.roguelike.input.Input;
+import de.felixstaude.roguelike.world.GameMode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Die Simulation muss bei jeder {@link TickRate} gleich spielen: dieselbe zeitbasierte Eingabe mit demselben
+ * Seed läuft Wave 1 bei 30/60/120/240 UPS durch, verglichen wird gegen 60 UPS – die Spielerbahn Sekunde für
+ * Sekunde und Kills/Schaden alle fünf Sekunden, nicht nur der Endstand.
+ *
+ * <p>Neben dem Start-Build laufen ein Pierce- und ein Homing-Multishot-Build: Durchschläge und die
+ * Homing-Turn-Rate sind die Stellen, an denen Tick-Länge am ehesten ins Ergebnis durchschlägt.
+ *
+ * <p>Die Eingabe fährt eine geschlossene Runde um die Arenamitte und bleibt dabei vom Rand weg; sonst
+ * landen alle Tickraten an derselben geclampten Ecke und der Positionsvergleich beweist nichts.
+ */
+class TickRateReplayTest {
+    private static final long SEED = 7L;
+    private static final int CHECKPOINT_SECONDS = 5;
+    private static final double POSITION_TOLERANCE = 24.0;
+    /** Kills/Schaden: relativ zu 60 UPS, mit absolutem Spielraum für die kleinen Werte am Anfang. */
+    private static final double COMBAT_TOLERANCE = 0.15;
+    private static final long KILL_SLACK = 2;
+    /** Absoluter Schadens-Spielraum in Treffern (× Kugelschaden des Builds). */
+    private static final double DAMAGE_SLACK_HITS = 3.0;
+
+    /** Zeitbasierte Eingabe: Bewegung in ganzen Sekunden (liegt auf dem Tick-Raster jeder Rate), Ziel = nächster Gegner. */
+    static final class ScriptedReplay implements Engine.Controller {
+        private static final int[][] SEGMENTS = {
+                // Sekunden, dx, dy – Summe der Wege = 0, maximal 300 px von der Mitte
+                {1, 1, 0},
+                {1, 0, 1},
+                {2, -1, 0},
+                {2, 0, -1},
+                {2, 1, 0},
+                {1, 0, 1},
+                {1, -1, 0},
+        };
+        private static final int PERIOD = period();
+        private long tick = 0;
+
+        private static int period() {
+            int total = 0;
+            for (int[] seg : SEGMENTS) total += seg[0];
+            return total;
+        }
+
+        @Override
+        public void control(Engine engine, Input input) {
+            // HP auffüllen: ein Tod würde die Läufe nicht mehr vergleichbar machen
+            Player p = engine.getPlayer();
+            p.hp = p.maxHp;
+
+            TickRate rate = engine.getTickRate();
+            // Ganzzahlig rechnen, damit Segmentgrenzen bei jeder Rate auf denselben Zeitpunkt fallen
+            long inPeriod = tick % ((long) PERIOD * rate.ups);
+            int dx = 0, dy = 0;
+            long end = 0;
+            for (int[] seg : SEGMENTS) {
+                end += (long) seg[0] * rate.ups;
+                if (inPeriod < end) { dx = seg[1]; dy = seg[2]; break; }
+            }
+            input.setKey(KeyEvent.VK_D, dx > 0);
+            input.setKey(KeyEvent.VK_A, dx < 0);
+            input.setKey(KeyEvent.VK_S, dy > 0);
+            input.setKey(KeyEvent.VK_W, dy < 0);
+
+            // Auf den nächsten Gegner zielen, sonst rotierend
+            Enemies enemies = engine.getEnemies();
+            int target = -1;
+            double best = Double.MAX_VALUE;
+            for (int e = 0; e < enemies.size(); e++) {
+                double ex = enemies.x(e) - p.pos.x, ey = enemies.y(e) - p.pos.y;
+                double d2 = ex * ex + ey * ey;
+                if (!enemies.isDead(e) && d2 < best) { best = d2; target = e; }
+            }
+            if (target >= 0) {
+                input.setMouse((int) enemies.x(target), (int) enemies.y(target));
+            } else {
+                double ang = tick * rate.dt() * 1.3;
+                input.setMouse((int) (p.pos.x + Math.cos(ang) * 200), (int) (p.pos.y + Math.sin(ang) * 200));
+            }
+            tick++;
+        }
+    }
+
+    /**
+     * Verlauf eines Laufs: Spielerposition je Sekunde, kumulierte Kills/Schaden je Checkpoint, zuletzt der Endstand.
+     * Das Wave-Ende kann je nach Rate um einen Tick streuen, daher kann die letzte Sekunde fehlen.
+     */
+    record Trace(List<double[]> positions, List<Long> kills, List<Double> damage, long shots, int volley,
+                 double bulletDamage, long spawned) {
+    }
+
+    /**
+     * Spieler-Build eines Replays; verglichen wird immer innerhalb desselben Builds. Die Zusatz-Builds machen
+     * 1 Schaden pro Treffer: Gegner überleben dutzende Treffer, der Schaden zählt also Treffer statt
+     * Spawns, und doppelt gezählte Treffer fallen auf.
+     */
+    enum Build {
+        BASE(p -> { }),
+        PIERCE(p -> {
+            p.pierce = 3;
+            p.bulletDamage = 1.0;
+        }),
+        HOMING_MULTISHOT(p -> {
+            p.multishot = 4;
+            p.homingChance = 1.0;
+            p.fireRate = 12.0;
+            p.pierce = 1;
+            p.bulletDamage = 1.0;
+        });
+
+        final Consumer<Player> apply;
+
+        Build(Consumer<Player> apply) {
+            this.apply = apply;
+        }
+    }
+
+    private static final int MIN_SECONDS = 29;
+
+    private static final Map<Build, Map<TickRate, Trace>> TRACES = new EnumMap<>(Build.class);
+
+    @BeforeAll
+    static void replayAllRates() {
+        for (Build build : Build.values()) {
+            Map<TickRate, Trace> traces = new EnumMap<>(TickRate.class);
+            for (TickRate rate : TickRate.values()) traces.put(rate, run(build, rate));
+            TRACES.put(build, traces);
+        }
+    }
+
+    private static Trace run(Build build, TickRate rate) {
+        Engine engine = Engine.headless(new ScriptedReplay(), GameMode.STANDARD, rate, new SplittableRandom(SEED));
+        build.apply.accept(engine.getPlayer());
+        List<double[]> positions = new ArrayList<>();
+        List<Long> kills = new ArrayList<>();
+        List<Double> damage = new ArrayList<>();
+        double dt = rate.dt();
+        long tick = 0;
+        while (engine.getState() == GameState.RUNNING) {
+            engine.onUpdate(dt);
+            if (++tick % rate.ups != 0 || engine.getState() != GameState.RUNNING) continue;
+            Player p = engine.getPlayer();
+            positions.add(new double[]{p.pos.x, p.pos.y});
+            if (tick % ((long) CHECKPOINT_SECONDS * rate.ups) == 0) {
+                kills.add(engine.getDamageSystem().getKills());
+                damage.add(engine.getDamageSystem().getDamageDealt());
+            }
+        }
+        kills.add(engine.getDamageSystem().getKills());
+        damage.add(engine.getDamageSystem().getDamageDealt());
+        return new Trace(positions, kills, damage, engine.getPlayer().shotsFired,
+                1 + engine.getPlayer().multishot, engine.getPlayer().bulletDamage, engine.getSpawner().getSpawned());
+    }
+
+    @Test
+    void trajectoryStaysOffTheArenaEdge() {
+        Trace reference = TRACES.get(Build.BASE).get(TickRate.STANDARD);
+        double margin = 50.0;
+        for (int s = 0; s < reference.positions().size(); s++) {
+            double[] p = reference.positions().get(s);
+            int second = s + 1;
+            assertTrue(p[0] > margin && p[0] < EngineArena.ARENA_W - margin
+                            && p[1] > margin && p[1] < EngineArena.ARENA_H - margin,
+                    () -> "player clamped at the edge after " + second + " s: (" + p[0] + ", " + p[1] + ")");
+        }
+    }
+
+    @Test
+    void playerTrajectoryMatchesStandardRate() {
+        Trace reference = TRACES.get(Build.BASE).get(TickRate.STANDARD);
+        for (TickRate rate : TickRate.values()) {
+            Trace trace = TRACES.get(Build.BASE).get(rate);
+            assertTrue(trace.positions().size() >= MIN_SECONDS,
+                    rate.ups + " UPS: wave ended after " + trace.positions().size() + " s");
+            for (int s = 0; s < Math.min(reference.positions().size(), trace.positions().size()); s++) {
+                double[] a = reference.positions().get(s), b = trace.positions().get(s);
+                int second = s + 1;
+                assertEquals(0.0, Math.hypot(a[0] - b[0], a[1] - b[1]), POSITION_TOLERANCE,
+                        () -> rate.ups + " UPS: position deviation after " + second + " s");
+            }
+        }
+    }
+
+    @Test
+    void combatMatchesStandardRate() {
+        assertCombatMatches(Build.BASE);
+    }
+
+    @Test
+    void pierceCombatMatchesStandardRate() {
+        assertCombatMatches(Build.PIERCE);
+    }
+
+    @Test
+    void homingMultishotCombatMatchesStandardRate() {
+        assertCombatMatches(Build.HOMING_MULTISHOT);
+    }
+
+    private static void assertCombatMatches(Build build) {
+        Map<TickRate, Trace> traces = TRACES.get(build);
+        Trace reference = traces.get(TickRate.STANDARD);
+        for (TickRate rate : TickRate.values()) {
+            Trace trace = traces.get(rate);
+            String label = build + " at " + rate.ups + " UPS";
+            // shotsFired zählt Kugeln: ±1 Salve Spielraum
+            assertEquals(reference.shots(), trace.shots(), trace.volley(), label + ": shots");
+            assertEquals(reference.spawned(), trace.spawned(), 1.0, label + ": spawned");
+            // Zwischenstände, soweit beide Läufe sie erreicht haben, dann der Endstand
+            int checkpoints = Math.min(reference.kills().size(), trace.kills().size()) - 1;
+            for (int c = 0; c < checkpoints; c++) {
+                assertCombat(reference, c, trace, c, label + " after " + (c + 1) * CHECKPOINT_SECONDS + " s");
+            }
+            assertCombat(reference, reference.kills().size() - 1, trace, trace.kills().size() - 1,
+                    label + " at wave end");
+        }
+    }
+
+    private static void assertCombat(Trace reference, int r, Trace trace, int t, String at) {
+        long kills = reference.kills().get(r);
+        double damage = reference.damage().get(r);
+        assertEquals(kills, trace.kills().get(t), Math.max(KILL_SLACK, kills * COMBAT_TOLERANCE), at + ": kills");
+        double slack = Math.max(DAMAGE_SLACK_HITS * trace.bulletDamage(), damage * COMBAT_TOLERANCE);
+        assertEquals(damage, trace.damage().get(t), slack, at + ": damage");
+    }
+}